@@ -0,0 +1,325 @@
+package engine;
+
+import entity.Achievement;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Keeps the achievement and the statistics of every level in memory, and on
+ * disk as a journal: a snapshot followed by every update recorded since.
+ * Recording an update appends it to the journal instead of rewriting the
+ * whole history. Once enough updates pile up the journal is compacted into a
+ * new snapshot, replacing the file atomically.
+ *
+ * Each entry is prefixed by its length and checksum. When the game stops
+ * while appending, the torn entry at the end of the journal is dropped on
+ * recovery and the entries before it are replayed.
+ */
+final class AchievementJournal {
+
+	/** Number of updates appended before the journal is compacted. */
+	static final int COMPACTION_THRESHOLD = 64;
+
+	/** First bytes of a journal, "INVJ". */
+	private static final int MAGIC = 0x494E564A;
+	/** Version of the journal format. */
+	private static final int VERSION = 1;
+	/** Size of the header: magic and version. */
+	private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+	/** Size of the prefix of an entry: length and checksum. */
+	private static final int PREFIX_SIZE = Integer.BYTES * 2;
+
+	/** Entry holding the whole achievement and statistics. */
+	private static final byte SNAPSHOT = 0;
+	/** Entry of a level played. */
+	private static final byte LEVEL_PLAYED = 1;
+	/** Entry of a finished game. */
+	private static final byte GAME_PLAYED = 2;
+
+	/** Application logger. */
+	private static final Logger logger = Core.getLogger();
+
+	/** Update recorded in the journal. */
+	sealed interface Update permits LevelPlayed, GamePlayed { }
+
+	/**
+	 * Level played, cleared or lost.
+	 *
+	 * @param level        Level played.
+	 * @param playTime     Time spent on the level, in seconds.
+	 * @param maxCombo     Best combo of the level.
+	 * @param accuracy     Accuracy of the level, from its own shots and hits.
+	 * @param perfectStage Perfect stage reached after the level.
+	 */
+	record LevelPlayed(int level, int playTime, int maxCombo, double accuracy, int perfectStage)
+			implements Update { }
+
+	/**
+	 * Game finished.
+	 *
+	 * @param score           Score of the game.
+	 * @param flawlessFailure Whether the flawless failure achievement is reached.
+	 */
+	record GamePlayed(int score, boolean flawlessFailure) implements Update { }
+
+	/** Journal file. */
+	private final Path file;
+	/** Writes the journal in the background. */
+	private final PersistenceService persistence;
+
+	/** Achievement as of the last update. */
+	private Achievement achievement = new Achievement(0, 0, 0, 0, false);
+	/** Statistics of each level as of the last update, by level. */
+	private final Map<Integer, LevelStatistics> levels = new TreeMap<>();
+	/** Number of updates in the journal after its snapshot. */
+	private int updatesSinceSnapshot;
+
+	/**
+	 * Constructor, the journal is empty until recovered.
+	 *
+	 * @param file
+	 *            Journal file.
+	 * @param persistence
+	 *            Writes the journal in the background.
+	 */
+	AchievementJournal(final Path file, final PersistenceService persistence) {
+		this.file = file;
+		this.persistence = persistence;
+	}
+
+	/**
+	 * Getter for the achievement.
+	 *
+	 * @return Copy of the achievement as of the last update.
+	 */
+	synchronized Achievement getAchievement() {
+		return copy(this.achievement);
+	}
+
+	/**
+	 * Getter for the statistics of every level.
+	 *
+	 * @return Statistics of each played level, by level.
+	 */
+	synchronized Map<Integer, LevelStatistics> getLevelStatistics() {
+		return Map.copyOf(this.levels);
+	}
+
+	/**
+	 * Reads the journal, replaying its snapshot and the updates after it. A
+	 * torn entry at the end is cut off the file.
+	 *
+	 * @return Whether there was a journal to recover.
+	 * @throws IOException
+	 *             In case of reading problems.
+	 */
+	synchronized boolean recover() throws IOException {
+		byte[] content;
+		try {
+			content = Files.readAllBytes(this.file);
+		} catch (NoSuchFileException e) {
+			return false;
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(content);
+		if (content.length < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+			logger.warning("Achievement journal is unreadable, starting a new one.");
+			return false;
+		}
+
+		boolean hasSnapshot = false;
+		int end = buffer.position();
+		while (buffer.remaining() >= PREFIX_SIZE) {
+			int length = buffer.getInt();
+			int checksum = buffer.getInt();
+			if (length <= 0 || length > buffer.remaining()
+					|| checksum(content, buffer.position(), length) != checksum)
+				break;
+			ByteBuffer entry = buffer.slice(buffer.position(), length);
+			buffer.position(buffer.position() + length);
+			try {
+				hasSnapshot |= apply(entry);
+			} catch (BufferUnderflowException | IllegalArgumentException e) {
+				break;
+			}
+			end = buffer.position();
+		}
+
+		if (!hasSnapshot) {
+			logger.warning("Achievement journal has no snapshot, starting a new one.");
+			this.achievement = new Achievement(0, 0, 0, 0, false);
+			this.levels.clear();
+			return false;
+		}
+		if (end < content.length) {
+			logger.warning("Dropping " + (content.length - end) + " torn bytes off the achievement journal.");
+			try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.WRITE)) {
+				channel.truncate(end);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Replaces the achievement, keeping the level statistics, and writes a
+	 * new snapshot in the background.
+	 *
+	 * @param achievement
+	 *            New achievement.
+	 */
+	synchronized void reset(final Achievement achievement) {
+		this.achievement = copy(achievement);
+		compact();
+	}
+
+	/**
+	 * Records updates and appends them to the journal in the background,
+	 * compacting it when enough updates piled up.
+	 *
+	 * @param updates
+	 *            Updates to record, in order.
+	 */
+	synchronized void record(final List<Update> updates) {
+		if (updates.isEmpty())
+			return;
+		for (Update update : updates)
+			apply(update);
+
+		if (this.updatesSinceSnapshot + updates.size() >= COMPACTION_THRESHOLD) {
+			compact();
+			return;
+		}
+		this.updatesSinceSnapshot += updates.size();
+
+		ByteArrayOutputStream entries = new ByteArrayOutputStream();
+		for (Update update : updates)
+			entries.writeBytes(frame(encode(update)));
+		byte[] content = entries.toByteArray();
+		this.persistence.execute(() -> {
+			try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND)) {
+				ByteBuffer buffer = ByteBuffer.wrap(content);
+				while (buffer.hasRemaining())
+					channel.write(buffer);
+				channel.force(false);
+			}
+		});
+	}
+
+	/**
+	 * Writes the current state as the new journal in the background.
+	 */
+	private void compact() {
+		this.updatesSinceSnapshot = 0;
+		byte[] snapshot = frame(encodeSnapshot());
+		byte[] journal = ByteBuffer.allocate(HEADER_SIZE + snapshot.length)
+				.putInt(MAGIC).putShort((short) VERSION).put(snapshot).array();
+		this.persistence.execute(() -> ProfileStore.replace(this.file, journal));
+	}
+
+	/**
+	 * Applies an entry read from the journal.
+	 *
+	 * @return Whether the entry is a snapshot.
+	 */
+	private boolean apply(final ByteBuffer entry) {
+		byte type = entry.get();
+		switch (type) {
+			case SNAPSHOT -> {
+				this.achievement = new Achievement(entry.getInt(), entry.getInt(), entry.getInt(),
+						entry.getInt(), entry.get() != 0);
+				this.levels.clear();
+				int count = entry.getInt();
+				for (int i = 0; i < count; i++)
+					this.levels.put(entry.getInt(), new LevelStatistics(entry.getInt(), entry.getInt(),
+							entry.getInt(), entry.getDouble()));
+				this.updatesSinceSnapshot = 0;
+				return true;
+			}
+			case LEVEL_PLAYED -> apply(new LevelPlayed(entry.getInt(), entry.getInt(), entry.getInt(),
+					entry.getDouble(), entry.getInt()));
+			case GAME_PLAYED -> apply(new GamePlayed(entry.getInt(), entry.get() != 0));
+			default -> throw new IllegalArgumentException("Unknown journal entry " + type + ".");
+		}
+		this.updatesSinceSnapshot++;
+		return false;
+	}
+
+	private void apply(final Update update) {
+		switch (update) {
+			case LevelPlayed level -> {
+				this.achievement.setTotalPlayTime(level.playTime());
+				this.achievement.maxCombo = Math.max(this.achievement.maxCombo, level.maxCombo());
+				this.achievement.currentPerfectStage = Math.max(this.achievement.currentPerfectStage,
+						level.perfectStage());
+				this.levels.merge(level.level(),
+						LevelStatistics.NONE.played(level.playTime(), level.maxCombo(), level.accuracy()),
+						(played, play) -> played.played(play.playTime(), play.bestCombo(), play.bestAccuracy()));
+			}
+			case GamePlayed game -> {
+				this.achievement.setTotalScore(game.score());
+				this.achievement.flawlessFailure |= game.flawlessFailure();
+			}
+		}
+	}
+
+	private static byte[] encode(final Update update) {
+		ByteBuffer entry;
+		switch (update) {
+			case LevelPlayed level -> {
+				entry = ByteBuffer.allocate(1 + Integer.BYTES * 4 + Double.BYTES);
+				entry.put(LEVEL_PLAYED).putInt(level.level()).putInt(level.playTime())
+						.putInt(level.maxCombo()).putDouble(level.accuracy()).putInt(level.perfectStage());
+			}
+			case GamePlayed game -> {
+				entry = ByteBuffer.allocate(1 + Integer.BYTES + 1);
+				entry.put(GAME_PLAYED).putInt(game.score()).put((byte) (game.flawlessFailure() ? 1 : 0));
+			}
+		}
+		return entry.array();
+	}
+
+	private byte[] encodeSnapshot() {
+		ByteBuffer entry = ByteBuffer.allocate(1 + Integer.BYTES * 4 + 1 + Integer.BYTES
+				+ this.levels.size() * (Integer.BYTES * 4 + Double.BYTES));
+		entry.put(SNAPSHOT).putInt(this.achievement.getTotalPlayTime()).putInt(this.achievement.getTotalScore())
+				.putInt(this.achievement.maxCombo).putInt(this.achievement.currentPerfectStage)
+				.put((byte) (this.achievement.flawlessFailure ? 1 : 0)).putInt(this.levels.size());
+		for (Map.Entry<Integer, LevelStatistics> level : this.levels.entrySet())
+			entry.putInt(level.getKey()).putInt(level.getValue().plays()).putInt(level.getValue().playTime())
+					.putInt(level.getValue().bestCombo()).putDouble(level.getValue().bestAccuracy());
+		return entry.array();
+	}
+
+	/**
+	 * Prefixes an entry with its length and checksum.
+	 */
+	private static byte[] frame(final byte[] entry) {
+		return ByteBuffer.allocate(PREFIX_SIZE + entry.length).putInt(entry.length)
+				.putInt(checksum(entry, 0, entry.length)).put(entry).array();
+	}
+
+	private static int checksum(final byte[] bytes, final int offset, final int length) {
+		CRC32C checksum = new CRC32C();
+		checksum.update(bytes, offset, length);
+		return (int) checksum.getValue();
+	}
+
+	private static Achievement copy(final Achievement achievement) {
+		return new Achievement(achievement.getTotalPlayTime(), achievement.getTotalScore(),
+				achievement.maxCombo, achievement.currentPerfectStage, achievement.flawlessFailure);
+	}
+}
@@ -3,6 +3,9 @@ package engine;
 import entity.Achievement;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public class AchievementManager {
     private final Achievement achievement;
@@ -25,6 +28,9 @@ public class AchievementManager {
     private static final int FLAWLESS_FAILURE_COIN = 1000;
     private static final int PLAY_TIME_COIN = 1000;
 
+    // Updates not yet recorded in the achievement journal.
+    private final List<AchievementJournal.Update> pendingUpdates = new ArrayList<>();
+
 
     // Variables needed for each achievement are loaded through a file.
     public AchievementManager() throws IOException {
@@ -108,18 +114,32 @@ public class AchievementManager {
         }
     }
 
+    /**
+     * Appends the updates of the game to the achievement journal.
+     */
     public void updateAllAchievements() throws IOException {
-        FileManager.getInstance().saveAchievement(achievement);
+        FileManager.getInstance().getAchievementJournal().record(List.copyOf(pendingUpdates));
+        pendingUpdates.clear();
+    }
+
+    /**
+     * Statistics of every level played, by level.
+     */
+    public Map<Integer, LevelStatistics> getLevelStatistics() throws IOException {
+        return FileManager.getInstance().getAchievementJournal().getLevelStatistics();
     }
 
-    public void updatePlaying(int maxCombo ,int playtime, int maxLives, int livesRemaining, int level ) {
+    public void updatePlaying(int maxCombo ,int playtime, int maxLives, int livesRemaining, int level, double accuracy) {
         updateTotalPlayTime(playtime);
         updatePerfect(maxLives,livesRemaining,level);
         updateMaxCombo(maxCombo);
+        pendingUpdates.add(new AchievementJournal.LevelPlayed(level, playtime, maxCombo, accuracy,
+                achievement.currentPerfectStage));
     }
 
     public void updatePlayed(double accuracy, int score) {
         updateTotalScore(score);
         updateFlawlessFailure(accuracy);
+        pendingUpdates.add(new AchievementJournal.GamePlayed(score, achievement.flawlessFailure));
     }
 }
\ No newline at end of file
@@ -18,6 +18,8 @@ public class Cooldown {
 	private long time;
 	/** Special Enemy Alert. */
 	private final int alert = 3000;
+	/** Clock the cooldown is measured against. */
+	private final GameClock clock;
 
 	/**
 	 * Constructor, established the time until the action can be performed
@@ -31,6 +33,7 @@ public class Cooldown {
 		this.variance = 0;
 		this.duration = milliseconds;
 		this.time = 0;
+		this.clock = GameClock.getInstance();
 	}
 
 	/**
@@ -46,6 +49,7 @@ public class Cooldown {
 		this.milliseconds = milliseconds;
 		this.variance = variance;
 		this.time = 0;
+		this.clock = GameClock.getInstance();
 	}
 
 	/**
@@ -56,7 +60,7 @@ public class Cooldown {
 
 	public final boolean checkFinished() {
 		if ((this.time == 0)
-				|| this.time + this.duration < System.currentTimeMillis())
+				|| this.time + this.duration < this.clock.now())
 			return true;
 		return false;
 	}
@@ -69,7 +73,7 @@ public class Cooldown {
 
 	public final boolean checkAlert() {
         return (this.time > 0)
-                && this.time + this.duration - this.alert <= System.currentTimeMillis();
+                && this.time + this.duration - this.alert <= this.clock.now();
     }
 
 	/**
@@ -78,14 +82,15 @@ public class Cooldown {
 	 * @return Alert animation frame number.
 	 */
 	public final int checkAlertAnimation() {
+		long now = this.clock.now();
 		if ((this.time > 0)
-				&& this.time + this.duration - (this.alert / 3) <= System.currentTimeMillis())
+				&& this.time + this.duration - (this.alert / 3) <= now)
 			return 3;
 		else if ((this.time > 0)
-				&& this.time + this.duration - 2 * (this.alert / 3) <= System.currentTimeMillis())
+				&& this.time + this.duration - 2 * (this.alert / 3) <= now)
 			return 2;
 		else if ((this.time > 0)
-				&& this.time + this.duration - this.alert <= System.currentTimeMillis())
+				&& this.time + this.duration - this.alert <= now)
 			return 1;
 		return 0;
 	}
@@ -94,10 +99,10 @@ public class Cooldown {
 	 * Restarts the cooldown.
 	 */
 	public final void reset() {
-		this.time = System.currentTimeMillis();
+		this.time = this.clock.now();
 		if (this.variance != 0)
 			this.duration = (this.milliseconds - this.variance)
-					+ (int) (Math.random()
+					+ (int) (GameRandom.getInstance().nextDouble()
 							* (this.milliseconds + this.variance));
 	}
 }
@@ -4,6 +4,7 @@ import engine.network.NetworkManager;
 import screen.*;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.logging.*;
 
 /**
@@ -20,6 +21,8 @@ public final class Core {
 	private static final int HEIGHT = 650;
 	/** Max fps of current screen. */
 	private static final int FPS = 60;
+	/** Maximum time to wait for the profile to be saved on exit, in milliseconds. */
+	private static final long PROFILE_FLUSH_TIMEOUT = 2000;
 
     /** Application logger. */
 	private static final Logger LOGGER = Logger.getLogger(Core.class
@@ -38,7 +41,12 @@ public final class Core {
 	 * Test implementation.
 	 * 
 	 * @param args
-	 *            Program args, ignored.
+	 *            Program args. "--record FILE" records the next single player
+	 *            game, "--replay FILE" plays a recorded game back and logs how
+	 *            long it took, "--headless" skips drawing during a replay,
+	 *            "--pipelined" draws single player games on a render thread
+	 *            while the next frame is updated, and "--software-sprites"
+	 *            writes sprites straight into the back buffer pixels.
 	 */
 	public static void main(final String[] args) throws IOException {
 		try {
@@ -58,6 +66,10 @@ public final class Core {
 			LOGGER.log(Level.WARNING, "Failed to load logger", e);
 		}
 
+		// Saves run in the background, let them reach the disk however the game exits.
+		Runtime.getRuntime().addShutdownHook(new Thread(
+				() -> FileManager.getInstance().flush(PROFILE_FLUSH_TIMEOUT), "profile-flush"));
+
         /* Frame to draw the screen on. */
         Frame frame = new Frame(WIDTH, HEIGHT);
 		Renderer.getInstance().setFrame(frame);
@@ -66,9 +78,29 @@ public final class Core {
 
 		AchievementManager achievementManager = new AchievementManager();
 
+		Path recordPath = null;
+		Path replayPath = null;
+		boolean isHeadless = false;
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--record" -> recordPath = Path.of(args[++i]);
+				case "--replay" -> replayPath = Path.of(args[++i]);
+				case "--headless" -> isHeadless = true;
+				case "--pipelined" -> GameScreen.setPipelinedRendering(true);
+				case "--software-sprites" -> Renderer.getInstance().setSoftwareRasterizer(true);
+				default -> LOGGER.warning("Unknown argument " + args[i]);
+			}
+		}
+		ReplayManager replayManager = ReplayManager.getInstance();
+
 		Menu menu = Menu.LOGIN;
 		GameLevelState gameLevelState = null;
 		GameSettings gameSettings = null;
+		if (replayPath != null) {
+			gameSettings = replayManager.startReplay(replayPath, isHeadless);
+			gameLevelState = new GameLevelState();
+			menu = Menu.SINGLE_PLAY;
+		}
 		GameState gameState = null;
 		String playerName = "";
 		Screen currentScreen;
@@ -99,8 +131,15 @@ public final class Core {
 					assert gameSettings != null;
 					GameLevelState currentGameLevelState;
 
+					if (recordPath != null)
+						replayManager.startRecording(recordPath, gameSettings);
+					boolean isReplay = replayManager.getMode() == ReplayManager.Mode.REPLAYING;
+					long replayStartTime = System.currentTimeMillis();
+
 					do {
-						long startTime = System.currentTimeMillis();
+						long startTime = GameClock.getInstance().now();
+						int shotsBefore = gameLevelState.bulletsShoot();
+						int hitsBefore = gameLevelState.hitBullets();
 						currentScreen = new GameScreen(gameLevelState, gameSettings, width, height, FPS);
 
 						menu = frame.setScreen(currentScreen);
@@ -108,9 +147,26 @@ public final class Core {
 						currentGameLevelState = ((GameScreen) currentScreen).getGameLevelState();
 						gameLevelState = new GameLevelState(currentGameLevelState, gameSettings);
 
-						long endTime = System.currentTimeMillis();
-						achievementManager.updatePlaying(gameLevelState.maxCombo(),(int) (endTime - startTime) / 1000, gameSettings.maxLives(), gameLevelState.livesRemaining(), gameLevelState.level() - 1);
-					} while (currentGameLevelState.livesRemaining() > 0);
+						long endTime = GameClock.getInstance().now();
+						if (isReplay)
+							continue;
+						// Shots and hits add up over the game, keep those of this level.
+						int levelShots = currentGameLevelState.bulletsShoot() - shotsBefore;
+						int levelHits = currentGameLevelState.hitBullets() - hitsBefore;
+						double levelAccuracy = levelShots == 0 ? 0 : (double) levelHits / levelShots * 100;
+						// The best combo is reset when a level starts, so it is this level's own.
+						achievementManager.updatePlaying(currentGameLevelState.maxCombo(),(int) (endTime - startTime) / 1000, gameSettings.maxLives(), gameLevelState.livesRemaining(), gameLevelState.level() - 1, levelAccuracy);
+					} while (currentGameLevelState.livesRemaining() > 0 && !replayManager.isFinished());
+
+					if (isReplay) {
+						LOGGER.info("Replay finished with a score of " + gameLevelState.score() + " after "
+								+ replayManager.getFrameCount() + " frames in "
+								+ (System.currentTimeMillis() - replayStartTime) + " ms.");
+						replayManager.stopReplay();
+						menu = Menu.EXIT;
+					}
+					replayManager.stopRecording();
+					recordPath = null;
 					break;
 
 				case MULTI_PLAY:
@@ -138,6 +194,12 @@ public final class Core {
 
 					achievementManager.updatePlayed(gameLevelState.getAccuracy(), gameLevelState.score());
 					achievementManager.updateAllAchievements();
+					try {
+						FileManager.getInstance().getGameArchive().add(GameArchive.GameRecord.of(
+								System.currentTimeMillis(), gameSettings.shipType(), gameLevelState));
+					} catch (IOException e) {
+						LOGGER.warning("Couldn't archive the game: " + e.getMessage());
+					}
 					currentScreen = new ScoreScreen(playerName, width, height, FPS, gameLevelState, achievementManager, gameSettings.isOnlinePlay());
 
 					menu = frame.setScreen(currentScreen);
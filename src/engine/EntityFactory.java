@@ -1,8 +1,7 @@
 package engine;
 
 import entity.*;
-import message.Ranking;
-import screen.RankingScreen;
+import message.RankingEntry;
 import screen.Screen;
 
 import java.awt.*;
@@ -19,6 +18,8 @@ public class EntityFactory {
     private static final Font fontRegular = FontManager.getFontRegular();
     /** Big sized font. */
     private static final Font fontBig = FontManager.getFontBig();
+    /** Reload timer drawn while the ship is not reloading. */
+    private static final ArcEntity EMPTY_RELOAD_TIMER = new ArcEntity(0, 0, 0, 0, 0, 0, false, Color.WHITE);
 
     public static SpriteEntity createSpriteEntity(final int positionX, final int positionY, final int width,
 						final int height, final Color color){
@@ -59,18 +60,33 @@ public class EntityFactory {
     }
 
     public static TextEntity createElapsedTime(final Screen screen, final int elapsedTime) {
+        return new TextEntity(screen.getWidth()/2, 25, Color.LIGHT_GRAY, formatElapsedTime(elapsedTime), fontRegular);
+    }
+
+    /**
+     * Formats a time as "s.cc", or "m:ss.cc" from one minute on. Called every
+     * frame, so it avoids String.format.
+     *
+     * @param elapsedTime Time in milliseconds.
+     * @return Formatted time.
+     */
+    public static String formatElapsedTime(final int elapsedTime) {
         int cent = (elapsedTime % 1000)/10;
         int seconds = elapsedTime / 1000;
         int sec = seconds % 60;
         int min = seconds / 60;
 
-        String elapsedTimeString;
-        if (min < 1){
-            elapsedTimeString = String.format("%d.%02d", sec, cent);
+        StringBuilder builder = new StringBuilder(8);
+        if (min < 1) {
+            builder.append(sec);
         } else {
-            elapsedTimeString = String.format("%d:%02d.%02d", min, sec, cent);
+            builder.append(min).append(':');
+            if (sec < 10) builder.append('0');
+            builder.append(sec);
         }
-        return new TextEntity(screen.getWidth()/2, 25, Color.LIGHT_GRAY, elapsedTimeString, fontRegular);
+        builder.append('.');
+        if (cent < 10) builder.append('0');
+        return builder.append(cent).toString();
     }
 
     public static TextEntity createAlertMessage(final Screen screen, final String alertMessage){
@@ -235,7 +251,7 @@ public class EntityFactory {
 
         // centered strings
         String achievementTitle = "Achievement";
-        String instructionsString = "Press ESC to return";
+        String instructionsString = "Press ESC to return, SPACE for game history";
         String achievementsStatusTitle = "Achievements Status";
         String achievementsExplain = "Applies to single-player play only";
 
@@ -469,6 +485,49 @@ public class EntityFactory {
         return entities;
     }
 
+    /**
+     * Creates the game history page of the achievement screen: totals of the
+     * archived games and the best of them.
+     *
+     * @param screen        Screen to draw on.
+     * @param filter        Name of the ships the games are shown for.
+     * @param totals        Totals of the games.
+     * @param gamesThisWeek Number of games played in the last seven days.
+     * @param bestGames     Best games, best score first.
+     * @return Entities of the page.
+     */
+    public static List<Entity> createGameHistory(final Screen screen, final String filter,
+                                                 final GameArchive.Totals totals, final int gamesThisWeek,
+                                                 final List<GameArchive.GameRecord> bestGames) {
+        List<Entity> entities = new ArrayList<>();
+        int lineHeight = FontManager.getFontRegularMetrics().getHeight() * 2;
+
+        entities.add(createCenteredBigString(screen, "Game History", screen.getHeight() / 8, Color.GREEN));
+        entities.add(createCenteredRegularString(screen, "Press SPACE for achievements, LEFT/RIGHT for ships",
+                screen.getHeight() / 8 + FontManager.getFontRegularMetrics().getHeight(), Color.GRAY));
+        entities.add(createCenteredRegularString(screen, "< " + filter + " >", screen.getHeight() / 4, Color.YELLOW));
+
+        int y = screen.getHeight() / 4 + lineHeight;
+        entities.add(createCenteredRegularString(screen, String.format("Games  %d   This week  %d",
+                totals.games(), gamesThisWeek), y, Color.WHITE));
+        entities.add(createCenteredRegularString(screen, String.format("Best  %d   Average  %.0f",
+                totals.bestScore(), totals.averageScore()), y + lineHeight, Color.WHITE));
+        entities.add(createCenteredRegularString(screen, "Time played  " + formatElapsedTime((int) Math.min(
+                totals.duration(), Integer.MAX_VALUE)), y + lineHeight * 2, Color.WHITE));
+
+        y += lineHeight * 4;
+        entities.add(createCenteredRegularString(screen, "Best Games", y, Color.GREEN));
+        if (bestGames.isEmpty())
+            entities.add(createCenteredRegularString(screen, "No games yet", y + lineHeight, Color.GRAY));
+        for (int i = 0; i < bestGames.size(); i++) {
+            GameArchive.GameRecord game = bestGames.get(i);
+            entities.add(createCenteredRegularString(screen, String.format("%d.  %04d   lv.%d   %s",
+                    i + 1, game.score(), game.level(), game.shipType().name()),
+                    y + lineHeight * (i + 1), Color.WHITE));
+        }
+        return entities;
+    }
+
     public static List<Entity> createEndingCredit(final Screen screen, List<String> creditlist, int currentFrame) {
         List<Entity> entities = new ArrayList<>();
         final int startPoint = screen.getHeight() / 2;
@@ -669,7 +728,7 @@ public class EntityFactory {
                     circleSize, circleSize, startAngle, endAngle, true, Color.WHITE);
         }
         else
-            return new ArcEntity(0, 0, 0, 0, 0, 0, false, Color.WHITE);
+            return EMPTY_RELOAD_TIMER;
 
     }
 
@@ -1068,7 +1127,8 @@ public class EntityFactory {
 
     }
 
-    public static List<Entity> createRankingScreen(final Screen screen, final List<Ranking> rankings) {
+    public static List<Entity> createRankingScreen(final Screen screen, final int offset,
+                                                   final List<RankingEntry> rows) {
         List<Entity> entities = new ArrayList<>();
 
         int screenWidth = screen.getWidth();
@@ -1093,21 +1153,19 @@ public class EntityFactory {
         entities.add(new TextEntity(startX + columnSpacing, headerY, Color.YELLOW, usernameHeader, fontBig));
         entities.add(new TextEntity(startX + 2 * columnSpacing, headerY, Color.YELLOW, scoreHeader, fontBig));
 
-        // Add ranking entries
+        // Add ranking entries, rows not loaded yet are shown as dots
         int rowSpacing = Math.round(screenHeight * 0.07f);
-        int rowsPerPage = Math.max(1, screenHeight / 70);
-        int scrollOffset = ((RankingScreen) screen).getScrollOffset();
-
-        int startIndex = scrollOffset;
-        int endIndex = Math.min(scrollOffset + rowsPerPage, rankings.size());
 
-        for (int i = startIndex; i < endIndex; i++) {
-            Ranking ranking = rankings.get(i);
-            int rowY = headerY + (i - scrollOffset + 1) * rowSpacing;
+        for (int i = 0; i < rows.size(); i++) {
+            RankingEntry row = rows.get(i);
+            int rowY = headerY + (i + 1) * rowSpacing;
+            String rank = String.valueOf(row == null ? offset + i + 1 : row.rank());
 
-            entities.add(new TextEntity(startX, rowY, Color.WHITE, String.valueOf(i + 1), fontRegular));
-            entities.add(new TextEntity(startX + columnSpacing, rowY, Color.WHITE, ranking.username(), fontRegular));
-            entities.add(new TextEntity(startX + 2 * columnSpacing, rowY, Color.WHITE, String.valueOf(ranking.highScore()), fontRegular));
+            entities.add(new TextEntity(startX, rowY, Color.WHITE, rank, fontRegular));
+            entities.add(new TextEntity(startX + columnSpacing, rowY, Color.WHITE,
+                    row == null ? "..." : row.username(), fontRegular));
+            entities.add(new TextEntity(startX + 2 * columnSpacing, rowY, Color.WHITE,
+                    row == null ? "" : String.valueOf(row.highScore()), fontRegular));
         }
 
         return entities;
@@ -3,18 +3,20 @@ package engine;
 import java.awt.Font;
 import java.awt.FontFormatException;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.io.StringReader;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.logging.Logger;
 
@@ -34,6 +36,29 @@ public final class FileManager {
 	private static FileManager instance;
 	/** Application logger. */
 	private static final Logger logger = Core.getLogger();
+	/** Name of the profile file in the data directory. */
+	private static final String PROFILE_FILE = "profile";
+	/** Profile record of the high scores. */
+	private static final String HIGH_SCORES_RECORD = "scores";
+	/** Profile record of the wallet. */
+	private static final String WALLET_RECORD = "wallet";
+	/** Profile record of the writes waiting to be sent to the server. */
+	private static final String OUTBOX_RECORD = "outbox";
+	/** Profile record of the achievement, before the achievement journal. */
+	private static final String ACHIEVEMENT_RECORD = "achievement";
+	/** Name of the achievement journal file in the data directory. */
+	private static final String ACHIEVEMENT_JOURNAL_FILE = "achievement.journal";
+	/** Name of the game archive file in the data directory. */
+	private static final String GAME_ARCHIVE_FILE = "games.archive";
+
+	/** Directory user data is saved in. */
+	private Path dataDirectory;
+	/** Writes the profile holding the user data. */
+	private PersistenceService persistence;
+	/** Achievement and play statistics. */
+	private AchievementJournal achievementJournal;
+	/** Archive of every game played. */
+	private GameArchive gameArchive;
 	/**
 	 * private constructor.
 	 */
@@ -51,45 +76,30 @@ public final class FileManager {
 	}
 
 	/**
-	 * Loads sprites from disk.
+	 * Loads sprites from the compiled sprite atlas. When the atlas wasn't
+	 * built, as when running straight from the sources, the graphics text
+	 * file is parsed instead.
 	 *
-	 * @param spriteMap
-	 *            Mapping of sprite type and empty boolean matrix that will
-	 *            contain the image.
+	 * @return Sprites by type.
 	 * @throws IOException
 	 *             In case of loading problems.
 	 */
-	public void loadSprite(final Map<SpriteType, boolean[][]> spriteMap) throws IOException {
-        try (InputStream inputStream = Renderer.class.getClassLoader().getResourceAsStream("graphics");
-             BufferedReader reader = inputStream != null ? new BufferedReader(new InputStreamReader(inputStream)) : null) {
+	public Map<SpriteType, SpriteMask> loadSprites() throws IOException {
+		ClassLoader classLoader = Renderer.class.getClassLoader();
+		try (InputStream inputStream = classLoader.getResourceAsStream(SpriteAtlas.RESOURCE)) {
+			if (inputStream != null) {
+				Map<SpriteType, SpriteMask> sprites = SpriteAtlas.read(inputStream);
+				logger.fine("Loaded " + sprites.size() + " sprites from the atlas.");
+				return sprites;
+			}
+		}
 
-			if (reader == null)
+		logger.info("Sprite atlas not found, parsing the graphics file.");
+		try (InputStream inputStream = classLoader.getResourceAsStream(SpriteAtlas.GRAPHICS_RESOURCE)) {
+			if (inputStream == null)
 				throw new IOException("Graphics file not found.");
-
-            String line;
-
-            // Sprite loading.
-            for (Map.Entry<SpriteType, boolean[][]> sprite : spriteMap.entrySet()) {
-
-                int idx = 0;
-                do {
-					line = reader.readLine();
-
-					if (line == null)
-						throw new IOException("Sprite data not found.");
-
-				} while (line.trim().isEmpty() || line.trim().startsWith("#"));
-
-                for (int i = 0; i < sprite.getValue().length; i++) {
-                    for (int j = 0; j < sprite.getValue()[i].length; j++) {
-                        char c = line.charAt(idx++);
-                        sprite.getValue()[i][j] = c == '1';
-                    }
-                }
-
-                logger.fine("Sprite " + sprite.getKey() + " loaded.");
-            }
-        }
+			return SpriteAtlas.parseGraphics(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+		}
 	}
 
 	/**
@@ -159,108 +169,103 @@ public final class FileManager {
 	}
 
 	/**
-	 * Loads high scores from file, and returns a sorted list of pairs score -
-	 * value.
+	 * Loads high scores from the profile, and returns a sorted list of pairs
+	 * score - value. Falls back to the high scores file written by older
+	 * versions, then to the default high scores.
 	 *
 	 * @return Sorted list of scores - players.
 	 * @throws IOException
 	 *             In case of loading problems.
 	 */
 	public List<Score> loadHighScores() throws IOException {
-
 		List<Score> highScores = new ArrayList<>();
-		InputStream inputStream = null;
-		BufferedReader bufferedReader = null;
-
-		try {
-			String jarPath = FileManager.class.getProtectionDomain()
-					.getCodeSource().getLocation().getPath();
-			jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8);
-
-			String scoresPath = new File(jarPath).getParent();
-			scoresPath += File.separator;
-			scoresPath += "scores";
-
-			File scoresFile = new File(scoresPath);
-			inputStream = new FileInputStream(scoresFile);
-			bufferedReader = new BufferedReader(new InputStreamReader(
-					inputStream, StandardCharsets.UTF_8));
+		byte[] record = getPersistence().get(HIGH_SCORES_RECORD);
 
+		if (record != null) {
 			logger.info("Loading user high scores.");
-
-			Score highScore = null;
-			String name = bufferedReader.readLine();
-			String score = bufferedReader.readLine();
-
-			while ((name != null) && (score != null)) {
-				highScore = new Score(name, Integer.parseInt(score));
-				highScores.add(highScore);
-				name = bufferedReader.readLine();
-				score = bufferedReader.readLine();
+			DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+			int count = input.readInt();
+			for (int i = 0; i < count; i++)
+				highScores.add(new Score(input.readUTF(), input.readInt()));
+		} else {
+			File scoresFile = getDataDirectory().resolve("scores").toFile();
+			try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(
+					new FileInputStream(scoresFile), StandardCharsets.UTF_8))) {
+				logger.info("Loading user high scores.");
+
+				String name = bufferedReader.readLine();
+				String score = bufferedReader.readLine();
+
+				while ((name != null) && (score != null)) {
+					highScores.add(new Score(name, Integer.parseInt(score)));
+					name = bufferedReader.readLine();
+					score = bufferedReader.readLine();
+				}
+			} catch (FileNotFoundException e) {
+				// loads default if there's no user scores.
+				logger.info("Loading default high scores.");
+				highScores = loadDefaultHighScores();
 			}
-
-		} catch (FileNotFoundException e) {
-			// loads default if there's no user scores.
-			logger.info("Loading default high scores.");
-			highScores = loadDefaultHighScores();
-		} finally {
-			if (bufferedReader != null)
-				bufferedReader.close();
 		}
 
 		Collections.sort(highScores);
 		return highScores;
 	}
 
+	/**
+	 * Loads the achievement from the achievement journal.
+	 *
+	 * @return Achievement, all zero if none was saved yet.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
 	public Achievement loadAchievement() throws IOException {
-		Achievement achievement = null;
-		InputStream inputStream = null;
-		BufferedReader bufferedReader = null;
-		try {
-			String jarPath = FileManager.class.getProtectionDomain()
-					.getCodeSource().getLocation().getPath();
-			jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8);
-
-			String achievementPath = new File(jarPath).getParent();
-			achievementPath += File.separator;
-			achievementPath += "achievement";
-
-			File achievementFile = new File(achievementPath);
-			if (!achievementFile.exists())
-				achievementFile.createNewFile();
+		return getAchievementJournal().getAchievement();
+	}
 
-			inputStream = new FileInputStream(achievementFile);
-			bufferedReader = new BufferedReader(new InputStreamReader(
-					inputStream, StandardCharsets.UTF_8));
+	/**
+	 * Loads the achievement saved before the achievement journal, from the
+	 * profile or else from the achievement file of older versions.
+	 *
+	 * @return Achievement, all zero if none was saved.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	private Achievement loadSavedAchievement() throws IOException {
+		byte[] record = getPersistence().get(ACHIEVEMENT_RECORD);
+		if (record != null) {
+			logger.info("Loading user total score.");
+			DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+			return new Achievement(input.readInt(), input.readInt(), input.readInt(),
+					input.readInt(), input.readBoolean());
+		}
 
+		Properties properties = new Properties();
+		File achievementFile = getDataDirectory().resolve("achievement").toFile();
+		try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(
+				new FileInputStream(achievementFile), StandardCharsets.UTF_8))) {
 			// Load properties from the file
-			Properties properties = new Properties();
 			properties.load(bufferedReader);
-
-			logger.info("Loading user total score.");
-
-			int totalPlay = Integer.parseInt(properties.getProperty("total_play", "0"));
-			int totalScore = Integer.parseInt(properties.getProperty("total_score", "0"));
-			int maxCombo = Integer.parseInt(properties.getProperty("high_max_combo", "0"));
-			int perfectStage = Integer.parseInt(properties.getProperty("perfect_stage", "0"));
-			boolean flawlessFailure = properties.getProperty("flawless_failure", "0").equals("true");
-
-			achievement = new Achievement(totalPlay, totalScore, maxCombo, perfectStage, flawlessFailure);
-
 		} catch (FileNotFoundException e) {
-			// loads default if there's no user scores.
-			logger.info("File not found.");
+			logger.info("Achievement file not found, starting from zero.");
+		}
+
+		logger.info("Loading user total score.");
+		int totalPlay = 0;
+		int totalScore = 0;
+		int maxCombo = 0;
+		int perfectStage = 0;
+		try {
+			totalPlay = Integer.parseInt(properties.getProperty("total_play", "0"));
+			totalScore = Integer.parseInt(properties.getProperty("total_score", "0"));
+			maxCombo = Integer.parseInt(properties.getProperty("high_max_combo", "0"));
+			perfectStage = Integer.parseInt(properties.getProperty("perfect_stage", "0"));
 		} catch (NumberFormatException e) {
 			logger.warning("Invalid format for total score. Defaulting to 0.");
-		} finally {
-			if (bufferedReader != null) {
-				bufferedReader.close();
-			}
-			if (inputStream != null) {
-				inputStream.close();
-			}
 		}
-		return achievement;
+		boolean flawlessFailure = properties.getProperty("flawless_failure", "0").equals("true");
+
+		return new Achievement(totalPlay, totalScore, maxCombo, perfectStage, flawlessFailure);
 	}
 
 
@@ -294,105 +299,71 @@ public final class FileManager {
 
 
 	/**
-	 * Saves user high scores to disk.
+	 * Saves user high scores to the profile in the background.
 	 *
 	 * @param highScores
 	 *            High scores to save.
 	 * @throws IOException
-	 *             In case of loading problems.
+	 *             In case of encoding problems.
 	 */
 	public void saveHighScores(final List<Score> highScores)
 			throws IOException {
-		OutputStream outputStream = null;
-		BufferedWriter bufferedWriter = null;
-
-		try {
-			String jarPath = FileManager.class.getProtectionDomain()
-					.getCodeSource().getLocation().getPath();
-			jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8);
-
-			String scoresPath = new File(jarPath).getParent();
-			scoresPath += File.separator;
-			scoresPath += "scores";
-
-			File scoresFile = new File(scoresPath);
-
-			if (!scoresFile.exists())
-				scoresFile.createNewFile();
-
-			outputStream = new FileOutputStream(scoresFile);
-			bufferedWriter = new BufferedWriter(new OutputStreamWriter(
-					outputStream, StandardCharsets.UTF_8));
-
-			logger.info("Saving user high scores.");
-
-			for (Score score : highScores) {
-				bufferedWriter.write(score.name());
-				bufferedWriter.newLine();
-				bufferedWriter.write(Integer.toString(score.score()));
-				bufferedWriter.newLine();
-			}
-
-		} finally {
-			if (bufferedWriter != null)
-				bufferedWriter.close();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		output.writeInt(highScores.size());
+		for (Score score : highScores) {
+			output.writeUTF(score.name());
+			output.writeInt(score.score());
 		}
+
+		logger.info("Saving user high scores.");
+		getPersistence().save(HIGH_SCORES_RECORD, bytes.toByteArray());
 	}
 
+	/**
+	 * Saves the user wallet to the profile in the background.
+	 *
+	 * @param newWallet
+	 *            Wallet to save.
+	 * @throws IOException
+	 *             In case of encoding problems.
+	 */
 	public void saveWallet(final Wallet newWallet)
 			throws IOException {
-		OutputStream outputStream;
-		BufferedWriter bufferedWriter = null;
-
-		try {
-			String jarPath = FileManager.class.getProtectionDomain()
-					.getCodeSource().getLocation().getPath();
-			jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8); // 현재 파일 실행 경로. Current file execution path
-
-			String walletPath = new File(jarPath).getParent(); // 상위 파일 경로. Parent file path
-			walletPath += File.separator; // 파일 경로에 '/' 또는 '\' 추가(환경마다 다름). Add '/' or '\' to the file path (depends on the environment)
-			walletPath += "wallet";
-
-			File walletFile = new File(walletPath);
-
-			if (!walletFile.exists())
-				walletFile.createNewFile(); //파일이 없으면 새로 만듦. If the file does not exist, create a new one.
-
-			outputStream = new FileOutputStream(walletFile); //덮어쓰기. Overwrite
-			bufferedWriter = new BufferedWriter(new OutputStreamWriter(
-					outputStream, StandardCharsets.UTF_8));
-
-			logger.info("Saving user wallet.");
-
-			bufferedWriter.write(newWallet.getCoin() + "");
-			bufferedWriter.newLine();
-			bufferedWriter.write(newWallet.getBulletLevel() + "");
-			bufferedWriter.newLine();
-			bufferedWriter.write(newWallet.getShootLevel() + "");
-			bufferedWriter.newLine();
-			bufferedWriter.write(newWallet.getLivesLevel() + "");
-			bufferedWriter.newLine();
-			bufferedWriter.write(newWallet.getCoinLevel() + "");
-			bufferedWriter.newLine();
-
-		} finally {
-			if (bufferedWriter != null)
-				bufferedWriter.close();
-		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		output.writeInt(newWallet.getCoin());
+		output.writeInt(newWallet.getBulletLevel());
+		output.writeInt(newWallet.getShootLevel());
+		output.writeInt(newWallet.getLivesLevel());
+		output.writeInt(newWallet.getCoinLevel());
+
+		logger.info("Saving user wallet.");
+		getPersistence().save(WALLET_RECORD, bytes.toByteArray());
 	}
 
+	/**
+	 * Loads the user wallet, one value per line: coins, then bullet, shoot,
+	 * lives and coin levels. Falls back to the wallet file written by older
+	 * versions.
+	 *
+	 * @return Reader of the wallet, null if none was saved.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
 	public BufferedReader loadWallet() throws IOException {
-		String jarPath = FileManager.class.getProtectionDomain()
-				.getCodeSource().getLocation().getPath();
-		jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8);
-
-		String walletPath = new File(jarPath).getParent();
-		walletPath += File.separator;
-		walletPath += "wallet"; // 지갑 파일 경로. Wallet file path
+		byte[] record = getPersistence().get(WALLET_RECORD);
+		if (record != null) {
+			DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+			StringBuilder lines = new StringBuilder();
+			for (int i = 0; i < 5; i++)
+				lines.append(input.readInt()).append(System.lineSeparator());
+			return new BufferedReader(new StringReader(lines.toString()));
+		}
 
-		File walletFile = new File(walletPath);
+		File walletFile = getDataDirectory().resolve("wallet").toFile(); // 지갑 파일 경로. Wallet file path
 		if (!walletFile.exists()) {
-			Core.getLogger().warning("Wallet file not found at " + walletPath);
+			Core.getLogger().warning("Wallet file not found at " + walletFile);
 			return null; // 파일이 없으면 null 반환. If the file does not exist, return null.
 		}
 
@@ -400,45 +371,114 @@ public final class FileManager {
 		return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
 	}
 
+	/**
+	 * Saves the writes waiting to be sent to the server to the profile in the
+	 * background.
+	 *
+	 * @param outbox
+	 *            Encoded writes.
+	 */
+	public void saveOutbox(final byte[] outbox) {
+		getPersistence().save(OUTBOX_RECORD, outbox);
+	}
+
+	/**
+	 * Loads the writes waiting to be sent to the server, including those
+	 * still being saved.
+	 *
+	 * @return Encoded writes, null if none were saved.
+	 */
+	public byte[] loadOutbox() {
+		return getPersistence().get(OUTBOX_RECORD);
+	}
+
+	/**
+	 * Saves the achievement as a new snapshot of the achievement journal, in
+	 * the background. Updates of a game are recorded through
+	 * AchievementManager instead.
+	 *
+	 * @param achievement
+	 *            Achievement to save.
+	 * @throws IOException
+	 *             In case of loading problems of the journal.
+	 */
 	public void saveAchievement(final Achievement achievement)
 			throws IOException {
-		OutputStream outputStream;
-		BufferedWriter bufferedWriter = null;
+		logger.info("Saving achievement.");
+		getAchievementJournal().reset(achievement);
+	}
 
-		try {
+	/**
+	 * Getter for the directory user data is saved in, the one holding the
+	 * game jar. Resolved once.
+	 *
+	 * @return Data directory.
+	 */
+	private synchronized Path getDataDirectory() {
+		if (this.dataDirectory == null) {
 			String jarPath = FileManager.class.getProtectionDomain()
 					.getCodeSource().getLocation().getPath();
 			jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8); // 현재 파일 실행 경로. Current file execution path
+			this.dataDirectory = new File(jarPath).getAbsoluteFile().toPath().getParent();
+		}
+		return this.dataDirectory;
+	}
 
-			String achievementPath = new File(jarPath).getParent(); // 상위 파일 경로. Parent file path
-			achievementPath += File.separator; // 파일 경로에 '/' 또는 '\' 추가(환경마다 다름). Add '/' or '\' to the file path (depends on the environment)
-			achievementPath += "achievement";
-
-			File achievementFile = new File(achievementPath);
-
-			if (!achievementFile.exists())
-				achievementFile.createNewFile(); //파일이 없으면 새로 만듦. If the file does not exist, create a new one.
-
-			outputStream = new FileOutputStream(achievementFile); //덮어쓰기. Overwrite
-			bufferedWriter = new BufferedWriter(new OutputStreamWriter(
-					outputStream, StandardCharsets.UTF_8));
-
-			logger.info("Saving achievement.");
-			bufferedWriter.write("total_play=" + achievement.getTotalPlayTime());
-			bufferedWriter.newLine();
-			bufferedWriter.write("total_score=" + achievement.getTotalScore());
-			bufferedWriter.newLine();
-			bufferedWriter.write("high_max_combo=" + achievement.maxCombo);
-			bufferedWriter.newLine();
-			bufferedWriter.write("perfect_stage=" + achievement.currentPerfectStage);
-			bufferedWriter.newLine();
-			bufferedWriter.write("flawless_failure=" + achievement.flawlessFailure);
-			bufferedWriter.newLine();
+	/**
+	 * Waits until every save made so far is written to disk.
+	 *
+	 * @param timeoutMillis
+	 *            Maximum time to wait, in milliseconds.
+	 * @return True if every save is on disk, false if some couldn't be
+	 *         written in time.
+	 */
+	public boolean flush(final long timeoutMillis) {
+		return getPersistence().flush(timeoutMillis);
+	}
 
-		} finally {
-			if (bufferedWriter != null)
-				bufferedWriter.close();
+	/**
+	 * Getter for the achievement journal, recovered the first time it is
+	 * needed. Without a journal, it starts from the achievement saved by
+	 * older versions.
+	 *
+	 * @return Achievement journal in the data directory.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	synchronized AchievementJournal getAchievementJournal() throws IOException {
+		if (this.achievementJournal == null) {
+			AchievementJournal journal = new AchievementJournal(
+					getDataDirectory().resolve(ACHIEVEMENT_JOURNAL_FILE), getPersistence());
+			if (!journal.recover())
+				journal.reset(loadSavedAchievement());
+			this.achievementJournal = journal;
 		}
+		return this.achievementJournal;
 	}
 
+	/**
+	 * Getter for the archive of every game played, opened the first time it
+	 * is needed.
+	 *
+	 * @return Game archive in the data directory.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	public synchronized GameArchive getGameArchive() throws IOException {
+		if (this.gameArchive == null)
+			this.gameArchive = new GameArchive(getDataDirectory().resolve(GAME_ARCHIVE_FILE), getPersistence());
+		return this.gameArchive;
+	}
+
+	/**
+	 * Getter for the persistence service.
+	 *
+	 * @return Persistence service of the profile in the data directory.
+	 */
+	private synchronized PersistenceService getPersistence() {
+		if (this.persistence == null)
+			this.persistence = new PersistenceService(
+					new ProfileStore(getDataDirectory().resolve(PROFILE_FILE)));
+		return this.persistence;
+	}
 }
@@ -1,7 +1,10 @@
 package engine;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FontManager {
     private static Font fontSmall;
@@ -12,6 +15,12 @@ public class FontManager {
     private static FontMetrics fontRegularMetrics;
     private static FontMetrics fontBigMetrics;
 
+    /** Graphics used to measure fonts. */
+    private static final Graphics MEASURE_GRAPHICS =
+            new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).getGraphics();
+    /** Metrics of every measured font. */
+    private static final Map<Font, FontMetrics> METRICS = new ConcurrentHashMap<>();
+
 
     static {
         FileManager fileManager = FileManager.getInstance();
@@ -34,6 +43,18 @@ public class FontManager {
     public static Font getFontRegular() { return fontRegular; }
     public static Font getFontBig() { return fontBig; }
 
+    /**
+     * Gets the metrics of any font, without needing a screen to draw on.
+     *
+     * @param font Font to measure.
+     * @return Metrics of the font.
+     */
+    public static FontMetrics getMetrics(Font font) {
+        if (font == null)
+            return MEASURE_GRAPHICS.getFontMetrics();
+        return METRICS.computeIfAbsent(font, MEASURE_GRAPHICS::getFontMetrics);
+    }
+
     public static FontMetrics getFontSmallMetrics() { return fontSmallMetrics; }
     public static FontMetrics getFontRegularMetrics() { return fontRegularMetrics; }
     public static FontMetrics getFontBigMetrics() { return fontBigMetrics; }
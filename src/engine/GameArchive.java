@@ -0,0 +1,365 @@
+package engine;
+
+import entity.Ship;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Archive of every game played, kept as fixed size records in a memory
+ * mapped file. Records are appended in the order games are played, so they
+ * are sorted by date. A small index of record numbers sorted by score, and
+ * totals by ship type, are kept in memory; queries only read the records
+ * they return.
+ */
+public final class GameArchive {
+
+	/** First bytes of an archive, "INVA". */
+	private static final int MAGIC = 0x494E5641;
+	/** Version of the archive format. */
+	private static final int VERSION = 1;
+	/** Size of the header: magic, version, record size and record count. */
+	private static final int HEADER_SIZE = 16;
+	/** Position of the record count in the header. */
+	private static final int COUNT_POSITION = 8;
+	/** Size of a record. */
+	private static final int RECORD_SIZE = 48;
+	/** Number of records the file is first sized for. */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/** Positions of the fields in a record. */
+	private static final int PLAYED_AT = 0;
+	private static final int SHIP_TYPE = 8;
+	private static final int LEVEL = 12;
+	private static final int SCORE = 16;
+	private static final int LIVES_REMAINING = 20;
+	private static final int SHIPS_DESTROYED = 24;
+	private static final int BULLETS_SHOT = 28;
+	private static final int MAX_COMBO = 32;
+	private static final int DURATION = 36;
+
+	/**
+	 * Game played.
+	 *
+	 * @param playedAt       Time the game ended, in milliseconds since the epoch.
+	 * @param shipType       Ship the game was played with.
+	 * @param level          Level reached.
+	 * @param score          Score of the game.
+	 * @param livesRemaining Lives left at the end of the game.
+	 * @param shipsDestroyed Enemy ships destroyed.
+	 * @param bulletsShot    Bullets shot.
+	 * @param maxCombo       Best combo of the game.
+	 * @param duration       Duration of the game, in milliseconds.
+	 */
+	public record GameRecord(long playedAt, Ship.ShipType shipType, int level, int score,
+			int livesRemaining, int shipsDestroyed, int bulletsShot, int maxCombo, int duration) {
+
+		/**
+		 * Creates the record of a game from its final state.
+		 *
+		 * @param playedAt
+		 *            Time the game ended, in milliseconds since the epoch.
+		 * @param shipType
+		 *            Ship the game was played with.
+		 * @param gameLevelState
+		 *            State of the game when it ended.
+		 * @return Record of the game.
+		 */
+		public static GameRecord of(final long playedAt, final Ship.ShipType shipType,
+				final GameLevelState gameLevelState) {
+			return new GameRecord(playedAt, shipType, gameLevelState.level(), gameLevelState.score(),
+					gameLevelState.livesRemaining(), gameLevelState.shipsDestroyed(),
+					gameLevelState.bulletsShoot(), gameLevelState.maxCombo(), gameLevelState.elapsedTime());
+		}
+	}
+
+	/**
+	 * Totals of a set of games.
+	 *
+	 * @param games     Number of games.
+	 * @param scores    Sum of the scores.
+	 * @param bestScore Best score.
+	 * @param duration  Sum of the durations, in milliseconds.
+	 */
+	public record Totals(int games, long scores, int bestScore, long duration) {
+
+		/** Totals of no game. */
+		public static final Totals NONE = new Totals(0, 0, 0, 0);
+
+		/**
+		 * Adds a game.
+		 *
+		 * @param score
+		 *            Score of the game.
+		 * @param duration
+		 *            Duration of the game, in milliseconds.
+		 * @return Totals including the game.
+		 */
+		Totals add(final int score, final int duration) {
+			return new Totals(this.games + 1, this.scores + score, Math.max(this.bestScore, score),
+					this.duration + duration);
+		}
+
+		/**
+		 * Getter for the average score.
+		 *
+		 * @return Average score, zero without games.
+		 */
+		public double averageScore() {
+			return this.games == 0 ? 0 : (double) this.scores / this.games;
+		}
+	}
+
+	/** Archive file. */
+	private final Path file;
+	/** Forces the archive to disk in the background. */
+	private final PersistenceService persistence;
+	/** Mapping of the archive file. */
+	private MappedByteBuffer buffer;
+	/** Number of records the mapping can hold. */
+	private int capacity;
+	/** Number of records in the archive. */
+	private int count;
+	/** Record numbers, best score first. */
+	private int[] byScore;
+	/** Totals by ship type. */
+	private final Totals[] totalsByShipType = new Totals[Ship.ShipType.values().length];
+
+	/**
+	 * Constructor, opens the archive or creates it, and builds the index.
+	 *
+	 * @param file
+	 *            Archive file.
+	 * @param persistence
+	 *            Forces the archive to disk in the background.
+	 * @throws IOException
+	 *             In case of loading problems or an invalid archive.
+	 */
+	GameArchive(final Path file, final PersistenceService persistence) throws IOException {
+		this.file = file;
+		this.persistence = persistence;
+		Arrays.fill(this.totalsByShipType, Totals.NONE);
+
+		long size = Files.exists(file) ? Files.size(file) : 0;
+		if (size == 0) {
+			map(INITIAL_CAPACITY);
+			this.buffer.putInt(0, MAGIC);
+			this.buffer.putShort(4, (short) VERSION);
+			this.buffer.putShort(6, (short) RECORD_SIZE);
+			this.buffer.putInt(COUNT_POSITION, 0);
+		} else {
+			map((int) Math.max((size - HEADER_SIZE) / RECORD_SIZE, 1));
+			if (this.buffer.getInt(0) != MAGIC || this.buffer.getShort(4) != VERSION
+					|| this.buffer.getShort(6) != RECORD_SIZE)
+				throw new IOException("Not a game archive of version " + VERSION + ".");
+			// Records the header counts but that never reached the disk are dropped.
+			this.count = Math.min(this.buffer.getInt(COUNT_POSITION), this.capacity);
+		}
+
+		this.byScore = new int[Math.max(this.count, INITIAL_CAPACITY)];
+		for (int i = 0; i < this.count; i++)
+			index(i);
+	}
+
+	/**
+	 * Adds a game to the archive. The record is written to the mapping at
+	 * once and forced to disk in the background.
+	 *
+	 * @param game
+	 *            Game to add.
+	 * @throws IOException
+	 *             In case the archive couldn't grow.
+	 */
+	public synchronized void add(final GameRecord game) throws IOException {
+		if (this.count == this.capacity)
+			map(this.capacity * 2);
+
+		// Keeps records sorted by date even if the clock goes back.
+		long playedAt = this.count == 0 ? game.playedAt()
+				: Math.max(game.playedAt(), this.buffer.getLong(position(this.count - 1) + PLAYED_AT));
+		int position = position(this.count);
+		this.buffer.putLong(position + PLAYED_AT, playedAt)
+				.putInt(position + SHIP_TYPE, game.shipType().ordinal())
+				.putInt(position + LEVEL, game.level())
+				.putInt(position + SCORE, game.score())
+				.putInt(position + LIVES_REMAINING, game.livesRemaining())
+				.putInt(position + SHIPS_DESTROYED, game.shipsDestroyed())
+				.putInt(position + BULLETS_SHOT, game.bulletsShot())
+				.putInt(position + MAX_COMBO, game.maxCombo())
+				.putInt(position + DURATION, game.duration());
+		index(this.count++);
+
+		// Pages of a mapping reach the disk in any order, so the record is
+		// forced before the count covering it is written, and a torn record
+		// is never counted.
+		MappedByteBuffer mapped = this.buffer;
+		int count = this.count;
+		this.persistence.execute(() -> {
+			mapped.force(position, RECORD_SIZE);
+			mapped.putInt(COUNT_POSITION, count);
+			mapped.force(COUNT_POSITION, Integer.BYTES);
+		});
+	}
+
+	/**
+	 * Getter for the number of games.
+	 *
+	 * @return Number of games in the archive.
+	 */
+	public synchronized int size() {
+		return this.count;
+	}
+
+	/**
+	 * Gets the games with the best scores.
+	 *
+	 * @param limit
+	 *            Maximum number of games.
+	 * @return Games, best score first.
+	 */
+	public synchronized List<GameRecord> getTopScores(final int limit) {
+		List<GameRecord> games = new ArrayList<>();
+		for (int i = 0; i < this.count && games.size() < limit; i++)
+			games.add(read(this.byScore[i]));
+		return games;
+	}
+
+	/**
+	 * Gets the games played with a ship with the best scores.
+	 *
+	 * @param limit
+	 *            Maximum number of games.
+	 * @param shipType
+	 *            Ship the games were played with.
+	 * @return Games, best score first.
+	 */
+	public synchronized List<GameRecord> getTopScores(final int limit, final Ship.ShipType shipType) {
+		List<GameRecord> games = new ArrayList<>();
+		for (int i = 0; i < this.count && games.size() < limit; i++)
+			if (this.buffer.getInt(position(this.byScore[i]) + SHIP_TYPE) == shipType.ordinal())
+				games.add(read(this.byScore[i]));
+		return games;
+	}
+
+	/**
+	 * Gets the games played in a period.
+	 *
+	 * @param from
+	 *            Start of the period, included, in milliseconds since the epoch.
+	 * @param to
+	 *            End of the period, excluded, in milliseconds since the epoch.
+	 * @return Games, oldest first.
+	 */
+	public synchronized List<GameRecord> getPlayedBetween(final long from, final long to) {
+		List<GameRecord> games = new ArrayList<>();
+		for (int i = firstPlayedFrom(from); i < this.count; i++) {
+			if (this.buffer.getLong(position(i) + PLAYED_AT) >= to)
+				break;
+			games.add(read(i));
+		}
+		return games;
+	}
+
+	/**
+	 * Getter for the totals of the games played with a ship.
+	 *
+	 * @param shipType
+	 *            Ship the games were played with.
+	 * @return Totals of the games.
+	 */
+	public synchronized Totals getTotals(final Ship.ShipType shipType) {
+		return this.totalsByShipType[shipType.ordinal()];
+	}
+
+	/**
+	 * Getter for the totals of every game.
+	 *
+	 * @return Totals of the games.
+	 */
+	public synchronized Totals getTotals() {
+		Totals all = Totals.NONE;
+		for (Totals totals : this.totalsByShipType)
+			all = new Totals(all.games() + totals.games(), all.scores() + totals.scores(),
+					Math.max(all.bestScore(), totals.bestScore()), all.duration() + totals.duration());
+		return all;
+	}
+
+	/**
+	 * Maps the archive file, growing it to hold a number of records.
+	 */
+	private void map(final int capacity) throws IOException {
+		try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+					HEADER_SIZE + (long) capacity * RECORD_SIZE);
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Adds a record to the score index and the totals.
+	 */
+	private void index(final int record) {
+		int position = position(record);
+		int score = this.buffer.getInt(position + SCORE);
+		if (record == this.byScore.length)
+			this.byScore = Arrays.copyOf(this.byScore, this.byScore.length * 2);
+
+		// Insertion after the records of the same score keeps older games first.
+		int low = 0;
+		int high = record;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (this.buffer.getInt(position(this.byScore[middle]) + SCORE) >= score)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		System.arraycopy(this.byScore, low, this.byScore, low + 1, record - low);
+		this.byScore[low] = record;
+
+		int shipType = this.buffer.getInt(position + SHIP_TYPE);
+		if (shipType >= 0 && shipType < this.totalsByShipType.length)
+			this.totalsByShipType[shipType] = this.totalsByShipType[shipType]
+					.add(score, this.buffer.getInt(position + DURATION));
+	}
+
+	/**
+	 * Finds the first record played at or after a time.
+	 */
+	private int firstPlayedFrom(final long from) {
+		int low = 0;
+		int high = this.count;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (this.buffer.getLong(position(middle) + PLAYED_AT) < from)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+	private GameRecord read(final int record) {
+		int position = position(record);
+		Ship.ShipType[] shipTypes = Ship.ShipType.values();
+		int shipType = this.buffer.getInt(position + SHIP_TYPE);
+		return new GameRecord(this.buffer.getLong(position + PLAYED_AT),
+				shipType >= 0 && shipType < shipTypes.length ? shipTypes[shipType] : shipTypes[0],
+				this.buffer.getInt(position + LEVEL), this.buffer.getInt(position + SCORE),
+				this.buffer.getInt(position + LIVES_REMAINING), this.buffer.getInt(position + SHIPS_DESTROYED),
+				this.buffer.getInt(position + BULLETS_SHOT), this.buffer.getInt(position + MAX_COMBO),
+				this.buffer.getInt(position + DURATION));
+	}
+
+	private static int position(final int record) {
+		return HEADER_SIZE + record * RECORD_SIZE;
+	}
+}
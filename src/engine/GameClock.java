@@ -0,0 +1,140 @@
+package engine;
+
+/**
+ * Simulation clock shared by every cooldown in the game. The running screen
+ * advances it once per frame, so all time checks made during a frame see the
+ * same instant.
+ */
+public final class GameClock {
+
+	/** Singleton instance of the class. */
+	private static GameClock instance;
+
+	/** How the clock advances on each tick. */
+	public enum Mode {
+		/** Follows the wall clock, minus any time spent paused. */
+		REAL_TIME,
+		/** Advances by the frame duration on each tick, regardless of real time. */
+		FIXED_STEP
+	}
+
+	/** Current advancing mode. */
+	private volatile Mode mode;
+	/** Simulation time of the current frame, in milliseconds. */
+	private volatile long now;
+	/** Wall clock time subtracted from readings in real time mode. */
+	private long pausedTotal;
+	/** Wall clock time at which the clock was paused. */
+	private long pausedAt;
+	/** Checks if the clock is paused. */
+	private volatile boolean paused;
+
+	/**
+	 * Private constructor.
+	 */
+	private GameClock() {
+		this.mode = Mode.REAL_TIME;
+		this.now = System.currentTimeMillis();
+	}
+
+	/**
+	 * Returns shared instance of GameClock.
+	 *
+	 * @return Shared instance of GameClock.
+	 */
+	public static GameClock getInstance() {
+		if (instance == null)
+			instance = new GameClock();
+		return instance;
+	}
+
+	/**
+	 * Advances the clock to the next frame.
+	 *
+	 * @param frameMillis
+	 *            Duration of one frame, used in fixed step mode.
+	 */
+	public synchronized void tick(final int frameMillis) {
+		if (this.paused)
+			return;
+		if (this.mode == Mode.FIXED_STEP)
+			this.now += frameMillis;
+		else
+			this.now = System.currentTimeMillis() - this.pausedTotal;
+	}
+
+	/**
+	 * Getter for the time of the current frame.
+	 *
+	 * @return Simulation time in milliseconds.
+	 */
+	public long now() {
+		return this.now;
+	}
+
+	/**
+	 * Stops the clock. Cooldowns do not progress until it is resumed.
+	 */
+	public synchronized void pause() {
+		if (this.paused)
+			return;
+		this.paused = true;
+		this.pausedAt = System.currentTimeMillis();
+	}
+
+	/**
+	 * Restarts a paused clock from where it stopped.
+	 */
+	public synchronized void resume() {
+		if (!this.paused)
+			return;
+		this.paused = false;
+		if (this.mode == Mode.REAL_TIME)
+			this.pausedTotal += System.currentTimeMillis() - this.pausedAt;
+	}
+
+	/**
+	 * Checks if the clock is paused.
+	 *
+	 * @return True when the clock is paused.
+	 */
+	public boolean isPaused() {
+		return this.paused;
+	}
+
+	/**
+	 * Changes how the clock advances. The current time is kept, so running
+	 * cooldowns carry over.
+	 *
+	 * @param mode
+	 *            New advancing mode.
+	 */
+	public synchronized void setMode(final Mode mode) {
+		if (this.mode == mode)
+			return;
+		if (mode == Mode.REAL_TIME)
+			this.pausedTotal = System.currentTimeMillis() - this.now;
+		this.mode = mode;
+	}
+
+	/**
+	 * Puts the clock back to its initial state: running, in real time mode,
+	 * following the wall clock.
+	 */
+	synchronized void reset() {
+		this.mode = Mode.REAL_TIME;
+		this.paused = false;
+		this.pausedTotal = 0;
+		this.now = System.currentTimeMillis();
+	}
+
+	/**
+	 * Checks if the clock follows the wall clock. Screens only wait between
+	 * frames in this mode, so fixed step simulation runs as fast as possible.
+	 *
+	 * @return True when the clock is in real time mode.
+	 */
+	public boolean isRealTime() {
+		return this.mode == Mode.REAL_TIME;
+	}
+}
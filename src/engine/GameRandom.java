@@ -0,0 +1,75 @@
+package engine;
+
+import java.util.Random;
+
+/**
+ * Source of randomness for the simulation. Every random decision in the game
+ * goes through it, so a session can be repeated by reusing its seed.
+ */
+public final class GameRandom {
+
+	/** Singleton instance of the class. */
+	private static GameRandom instance;
+
+	/** Random generator. */
+	private final Random random;
+	/** Seed the generator was last initialized with. */
+	private long seed;
+
+	/**
+	 * Private constructor.
+	 */
+	private GameRandom() {
+		this.seed = System.nanoTime();
+		this.random = new Random(this.seed);
+	}
+
+	/**
+	 * Returns shared instance of GameRandom.
+	 *
+	 * @return Shared instance of GameRandom.
+	 */
+	public static GameRandom getInstance() {
+		if (instance == null)
+			instance = new GameRandom();
+		return instance;
+	}
+
+	/**
+	 * Restarts the sequence of random values.
+	 *
+	 * @param seed
+	 *            New seed.
+	 */
+	public synchronized void setSeed(final long seed) {
+		this.seed = seed;
+		this.random.setSeed(seed);
+	}
+
+	/**
+	 * Getter for the current seed.
+	 *
+	 * @return Seed the generator was last initialized with.
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Getter for the shared generator.
+	 *
+	 * @return Random generator.
+	 */
+	public Random getRandom() {
+		return this.random;
+	}
+
+	/**
+	 * Replacement for Math.random().
+	 *
+	 * @return Random value between 0.0 (inclusive) and 1.0 (exclusive).
+	 */
+	public double nextDouble() {
+		return this.random.nextDouble();
+	}
+}
@@ -26,6 +26,8 @@ public class GameState {
     private static final int SCREEN_CHANGE_INTERVAL = 1500;
     /** Height of the interface separation line. */
     private static final int SEPARATION_LINE_HEIGHT = 40;
+    /** Time without a hit until the combo is lost. */
+    private static final int COMBO_INTERVAL = 3000;
 
     /** Application logger. */
     protected Logger logger;
@@ -70,8 +72,10 @@ public class GameState {
     private final Cooldown enemyShipSpecialExplosionCooldown;
     /** Time from finishing the level to screen change. */
     private final Cooldown screenFinishedCooldown;
-    /** Timer */
-    private Timer timer;
+    /** Time until the combo is lost. */
+    private final Cooldown comboCooldown;
+    /** Checks if the combo cooldown is running. */
+    private boolean isComboCounting = false;
     private int maxBlockers = 0;
     /** Blocker appearance cooldown */
     private final Cooldown blockerCooldown;
@@ -98,12 +102,12 @@ public class GameState {
 
 
     public GameState(final GameLevelState gameLevelState, final GameSettings gameSettings) {
-        this.bullets = new HashSet<>();
-        this.itemBoxes = new HashSet<>();
+        this.bullets = new LinkedHashSet<>();
+        this.itemBoxes = new LinkedHashSet<>();
         this.block = new ArrayList<>();
         this.blockers = new ArrayList<>();
         this.webList = new ArrayList<>();
-        this.barriers = new HashSet<>();
+        this.barriers = new LinkedHashSet<>();
         this.level = gameLevelState.level();
         this.score = gameLevelState.score();
         this.lives = gameLevelState.livesRemaining();
@@ -120,8 +124,9 @@ public class GameState {
         this.enemyShipSpecialExplosionCooldown = Core
                 .getCooldown(BONUS_SHIP_EXPLOSION);
         this.screenFinishedCooldown = Core.getCooldown(SCREEN_CHANGE_INTERVAL);
+        this.comboCooldown = Core.getCooldown(COMBO_INTERVAL);
 
-        this.random = new Random();
+        this.random = GameRandom.getInstance().getRandom();
         this.blockerCooldown = Core.getVariableCooldown(10000, 14000);
         this.blockerCooldown.reset();
     }
@@ -217,68 +222,34 @@ public class GameState {
 
     public String getAlertMessage() { return alertMessage; }
 
-    public void initialize(GameSettings gameSettings, GameLevelState gameLevelState, GameScreen gameScreen, int formationHeight) {
+    public void initialize(GameSettings gameSettings, GameLevelState gameLevelState, GameScreen gameScreen, LevelLayout levelLayout) {
         this.gameScreen = gameScreen;
 
         this.ship = ShipFactory.create(this.shipType, gameScreen.getWidth() / 2, gameScreen.getHeight() - 30);
         this.ship.applyItem();
 
-        this.enemyShipFormation = new EnemyShipFormation(gameSettings, gameLevelState);
+        // The formation is usually built ahead of time, its divers are deployed now.
+        this.enemyShipFormation = levelLayout.enemyShipFormation();
+        this.enemyShipFormation.deployDivers(gameLevelState);
         this.enemyShipFormation.attach(gameScreen);
 
         this.itemManager = new ItemManager(this.ship, this.enemyShipFormation, this.barriers, gameScreen.getWidth(), gameScreen.getHeight(), this.balance);
 
         elapsedTime = gameLevelState.elapsedTime();
 
-        // initialize webList
-        if (this.webList == null) {
-            this.webList = new ArrayList<>(); // webList 초기화
-        }
-        int webCount = 1 + level / 3;
-        for (int i = 0; i < webCount; i++) {
-            double randomValue = Math.random();
-            int positionX = (int) Math.max(0, randomValue * gameScreen.getWidth() - 12 * 2);
-            int positionY = gameScreen.getHeight() - 30;
-            this.webList.add(new Web(positionX, positionY)); // Create a new Web
-        }
-
-        // initialize block
-        if (this.block == null) {
-            this.block = new ArrayList<>();
-        }
-        int blockCount = level / 2;
-        int playerTopYContainBarrier = gameScreen.getHeight() - 40 - 150;
-        int enemyBottomY = 100 + (formationHeight - 1) * 48;
-        this.block.clear(); // Clear existing blocks
-
-        for (int i = 0; i < blockCount; i++) {
-            Block newBlock;
-            boolean overlapping;
-
-            do {
-                newBlock = new Block(0, 0);
-                int positionX = (int) (Math.random() * (gameScreen.getWidth() - newBlock.getWidth()));
-                int positionY = (int) (Math.random() * (playerTopYContainBarrier - enemyBottomY - newBlock.getHeight())) + enemyBottomY;
-                newBlock = new Block(positionX, positionY);
-
-                overlapping = false;
-                for (Block b : block) {
-                    if (checkCollision(newBlock, b)) {
-                        overlapping = true;
-                        break;
-                    }
-                }
-            } while (overlapping);
+        // Blockers appear from level 3, render their rotations before the first one shows up
+        if (level >= 3 && !ReplayManager.getInstance().isHeadless())
+            Renderer.getInstance().prewarmBlockerRotations();
 
-            block.add(newBlock);
-        }
+        this.webList = new ArrayList<>(levelLayout.webs());
+        this.block = new ArrayList<>(levelLayout.blocks());
     }
 
     public void update(boolean playerAttacking, boolean moveRight, boolean moveLeft) {
         if (playerAttacking && ship.shoot(bullets, itemManager.getShootNum()))
             bulletsShoot += itemManager.getShootNum();
 
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.getInstance().now();
         ping = networkManager.getLatency();
 
         if (prevTime != null)
@@ -419,7 +390,7 @@ public class GameState {
      * Cleans bullets that go off-screen.
      */
     public void cleanBullets() {
-        Set<Bullet> recyclable = new HashSet<>();
+        Set<Bullet> recyclable = new LinkedHashSet<>();
         for (Bullet bullet : bullets) {
             bullet.update();
             if (bullet.getPositionY() < SEPARATION_LINE_HEIGHT
@@ -431,15 +402,36 @@ public class GameState {
     }
 
     /**
-     * Checks if two entities are colliding.
+     * Checks if two entities collide. Entities whose bounds overlap are then
+     * checked for a lit pixel shared by their sprites.
      *
      * @param a
-     *            First entity, the bullet.
+     *            First entity.
      * @param b
-     *            Second entity, the ship.
+     *            Second entity.
      * @return Result of the collision test.
      */
     public boolean checkCollision(final SpriteEntity a, final SpriteEntity b) {
+        if (!checkBoundsCollision(a, b)) return false;
+
+        Renderer renderer = Renderer.getInstance();
+        SpriteMask maskA = renderer.getCollisionMask(a.getSpriteType());
+        SpriteMask maskB = renderer.getCollisionMask(b.getSpriteType());
+        if (maskA == null || maskB == null) return true;
+        return SpriteMask.overlaps(maskA, a.getPositionX(), a.getPositionY(),
+                maskB, b.getPositionX(), b.getPositionY());
+    }
+
+    /**
+     * Checks if the bounds of two entities overlap.
+     *
+     * @param a
+     *            First entity.
+     * @param b
+     *            Second entity.
+     * @return Result of the collision test.
+     */
+    public boolean checkBoundsCollision(final SpriteEntity a, final SpriteEntity b) {
         if (a == null || b == null) return false;
         // Calculate center point of the entities in both axis.
         int centerAX = a.getPositionX() + a.getWidth() / 2;
@@ -466,17 +458,16 @@ public class GameState {
             }
         }
 
-        Set<Bullet> recyclable = new HashSet<>();
+        Set<Bullet> recyclable = new LinkedHashSet<>();
 
         if (!isExecuted){
             isExecuted = true;
-            timer = new Timer();
-            TimerTask timerTask = new TimerTask() {
-                public void run() {
-                    combo = 0;
-                }
-            };
-            timer.schedule(timerTask, 3000);
+            isComboCounting = true;
+            comboCooldown.reset();
+        }
+        if (isComboCounting && comboCooldown.checkFinished()) {
+            isComboCounting = false;
+            combo = 0;
         }
 
         int topEnemyY = Integer.MAX_VALUE;
@@ -527,7 +518,7 @@ public class GameState {
                         this.combo++;
                         this.hitBullets++;
                         if (this.combo > this.maxCombo) this.maxCombo = this.combo;
-                        timer.cancel();
+                        isComboCounting = false;
                         isExecuted = false;
                         recyclable.add(bullet);
 
@@ -547,7 +538,7 @@ public class GameState {
                     if (this.combo > this.maxCombo) this.maxCombo = this.combo;
                     this.enemyShipSpecial.destroy(balance);
                     this.enemyShipSpecialExplosionCooldown.reset();
-                    timer.cancel();
+                    isComboCounting = false;
                     isExecuted = false;
 
                     recyclable.add(bullet);
@@ -586,7 +577,7 @@ public class GameState {
         }
 
         //check the collision between the obstacle and the enemy ship
-        Set<Block> removableBlocks = new HashSet<>();
+        Set<Block> removableBlocks = new LinkedHashSet<>();
         for (EnemyShip enemyShip : getEnemyShipFormation()) {
             if (enemyShip != null && !enemyShip.isDestroyed()) {
                 for (Block b : block) {
@@ -0,0 +1,128 @@
+package engine;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the high scores in memory for the whole process. They are loaded from
+ * disk the first time they are needed, and every change is saved through the
+ * background writer of FileManager so screens never wait for the disk.
+ */
+public final class HighScoreRepository {
+
+	/** Maximum number of high scores kept. */
+	public static final int MAX_HIGH_SCORES = 4;
+
+	/** Orders scores descending by score, then by name so ties are kept. */
+	private static final Comparator<Score> RANKING_ORDER =
+			Comparator.<Score>naturalOrder().thenComparing(Score::name);
+
+	/** Singleton instance of the class. */
+	private static HighScoreRepository instance;
+	/** Application logger. */
+	private static final Logger logger = Core.getLogger();
+
+	/** High scores, best first. */
+	private final NavigableSet<Score> ranking = new TreeSet<>(RANKING_ORDER);
+	/** High score of each player in the ranking. */
+	private final Map<String, Score> byName = new HashMap<>();
+	/** Whether the high scores were loaded from disk. */
+	private boolean loaded;
+
+	/**
+	 * Private constructor.
+	 */
+	private HighScoreRepository() {
+	}
+
+	/**
+	 * Returns shared instance of HighScoreRepository.
+	 *
+	 * @return Shared instance of HighScoreRepository.
+	 */
+	public static synchronized HighScoreRepository getInstance() {
+		if (instance == null)
+			instance = new HighScoreRepository();
+		return instance;
+	}
+
+	/**
+	 * Getter for the high scores.
+	 *
+	 * @return High scores, best first.
+	 */
+	public synchronized List<Score> getHighScores() {
+		load();
+		return List.copyOf(this.ranking);
+	}
+
+	/**
+	 * Records the score of a player. A player keeps only their best score,
+	 * and only the best scores are kept. Changes are saved in the background.
+	 *
+	 * @param name
+	 *            Player's name.
+	 * @param score
+	 *            Score points.
+	 * @return Whether the high scores changed.
+	 */
+	public synchronized boolean submit(final String name, final int score) {
+		load();
+		if (!insert(new Score(name, score)))
+			return false;
+
+		try {
+			FileManager.getInstance().saveHighScores(List.copyOf(this.ranking));
+		} catch (IOException e) {
+			logger.warning("Couldn't save high scores!");
+		}
+		return true;
+	}
+
+	/**
+	 * Loads the high scores from disk, once.
+	 */
+	private void load() {
+		if (this.loaded)
+			return;
+		this.loaded = true;
+		try {
+			for (Score score : FileManager.getInstance().loadHighScores())
+				insert(score);
+		} catch (IOException e) {
+			logger.warning("Couldn't load high scores!");
+		}
+	}
+
+	/**
+	 * Adds a score if it beats the player's previous one and makes the
+	 * ranking, dropping the lowest score when there are too many.
+	 *
+	 * @param score
+	 *            Score to add.
+	 * @return Whether the ranking changed.
+	 */
+	private boolean insert(final Score score) {
+		Score previous = this.byName.get(score.name());
+		if (previous != null) {
+			if (previous.score() >= score.score())
+				return false;
+			this.ranking.remove(previous);
+		} else if (this.ranking.size() >= MAX_HIGH_SCORES
+				&& RANKING_ORDER.compare(score, this.ranking.last()) >= 0) {
+			return false;
+		}
+
+		this.ranking.add(score);
+		this.byName.put(score.name(), score);
+		if (this.ranking.size() > MAX_HIGH_SCORES)
+			this.byName.remove(this.ranking.pollLast().name());
+		return true;
+	}
+}
@@ -0,0 +1,153 @@
+package engine;
+
+import entity.*;
+import screen.Screen;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the heads-up display of a game screen as a prerendered image. The
+ * image is only redrawn when one of the values it shows changes, so drawing
+ * the HUD costs a single image copy per frame. The HUD is redrawn into an
+ * image no published frame draws, so a frame waiting for or being drawn by
+ * another thread keeps the image it was given.
+ */
+public class HudLayer {
+
+	/** Height of the area covered by the HUD, from the top of the screen. */
+	private static final int HUD_HEIGHT = 100;
+	/** Height of the line separating the HUD from the game. */
+	private static final int SEPARATION_LINE_HEIGHT = 40;
+	/**
+	 * Number of HUD images: the one of the last frame, those of the two
+	 * published frames of the snapshot exchange, and a free one.
+	 */
+	private static final int IMAGE_COUNT = 4;
+
+	/** Screen the HUD belongs to. */
+	private final Screen screen;
+	/** Exchange the frames showing the HUD are published to. */
+	private final SnapshotExchange snapshots;
+	/** Ship type drawn as remaining lives. */
+	private final Ship.ShipType shipType;
+	/** Highest recorded score, never changes during a game. */
+	private final TextEntity record;
+	/** Prerendered HUD images, taking turns. */
+	private final BufferedImage[] images = new BufferedImage[IMAGE_COUNT];
+	/** Entities drawing each prerendered HUD image. */
+	private final ImageEntity[] imageEntities = new ImageEntity[IMAGE_COUNT];
+	/** Index of the image holding the current HUD. */
+	private int current;
+	/** Elapsed time, redrawn on every change so kept out of the image. */
+	private final TextEntity elapsedTimeEntity;
+
+	/** Score shown in the image. */
+	private int score = -1;
+	/** Lives shown in the image. */
+	private int lives = -1;
+	/** Level shown in the image. */
+	private int level = -1;
+	/** Combo shown in the image. */
+	private int combo = -1;
+	/** Alert message shown in the image. */
+	private String alertMessage;
+	/** Elapsed time shown by the elapsed time entity. */
+	private int elapsedTime = -1;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param screen
+	 *            Screen the HUD belongs to.
+	 * @param shipType
+	 *            Ship type drawn as remaining lives.
+	 * @param highScores
+	 *            Recorded high scores, null when they couldn't be loaded.
+	 * @param snapshots
+	 *            Exchange the frames showing the HUD are published to.
+	 */
+	public HudLayer(final Screen screen, final Ship.ShipType shipType, final List<Score> highScores,
+			final SnapshotExchange snapshots) {
+		this.screen = screen;
+		this.snapshots = snapshots;
+		this.shipType = shipType;
+		for (int i = 0; i < this.images.length; i++) {
+			this.images[i] = Renderer.getInstance().createLayer(screen.getWidth(), HUD_HEIGHT);
+			this.imageEntities[i] = EntityFactory.createImageEntity(0, 0, Color.WHITE,
+					screen.getWidth(), HUD_HEIGHT, this.images[i]);
+		}
+		// Placing the record needs the font metrics initialized by createLayer.
+		this.record = EntityFactory.createRecord(screen, highScores == null ? List.of() : highScores);
+		this.elapsedTimeEntity = EntityFactory.createElapsedTime(screen, 0);
+	}
+
+	/**
+	 * Gets the prerendered HUD, redrawing it if any value changed since the
+	 * last call.
+	 *
+	 * @param score
+	 *            Current score.
+	 * @param lives
+	 *            Remaining lives.
+	 * @param level
+	 *            Current level.
+	 * @param combo
+	 *            Current combo.
+	 * @param alertMessage
+	 *            Current alert message.
+	 * @return Entity drawing the HUD.
+	 */
+	public synchronized ImageEntity update(final int score, final int lives, final int level,
+			final int combo, final String alertMessage) {
+		if (score != this.score || lives != this.lives || level != this.level
+				|| combo != this.combo || !alertMessage.equals(this.alertMessage)) {
+			this.score = score;
+			this.lives = lives;
+			this.level = level;
+			this.combo = combo;
+			this.alertMessage = alertMessage;
+			render();
+		}
+		return this.imageEntities[this.current];
+	}
+
+	/**
+	 * Gets the elapsed time text, formatting it only when the time changed.
+	 *
+	 * @param elapsedTime
+	 *            Elapsed time in milliseconds.
+	 * @return Entity drawing the elapsed time.
+	 */
+	public synchronized TextEntity getElapsedTime(final int elapsedTime) {
+		if (elapsedTime / 10 != this.elapsedTime / 10) {
+			this.elapsedTime = elapsedTime;
+			this.elapsedTimeEntity.setText(EntityFactory.formatElapsedTime(elapsedTime));
+		}
+		return this.elapsedTimeEntity;
+	}
+
+	/**
+	 * Redraws the HUD from the current values, into an image neither shown by
+	 * the last frame nor drawn by a published frame.
+	 */
+	private void render() {
+		List<Entity> entities = new ArrayList<>();
+		entities.add(EntityFactory.createScore(this.screen, this.score));
+		entities.add(EntityFactory.createAlertMessage(this.screen, this.alertMessage));
+		entities.add(EntityFactory.createLivesString(this.screen, this.lives));
+		entities.addAll(EntityFactory.createLivesSprites(this.screen, this.lives, this.shipType));
+		entities.add(EntityFactory.createLevel(this.screen, this.level));
+		entities.addAll(EntityFactory.createHorizontalLines(this.screen, SEPARATION_LINE_HEIGHT - 1));
+		entities.add(EntityFactory.createCombo(this.screen, this.combo));
+		entities.add(this.record);
+
+		int next = (this.current + 1) % IMAGE_COUNT;
+		while (this.snapshots.isDrawing(this.images[next]))
+			next = (next + 1) % IMAGE_COUNT;
+		this.current = next;
+		Renderer.getInstance().renderLayer(this.images[this.current], entities);
+	}
+}
@@ -2,6 +2,7 @@ package engine;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.Arrays;
 
 /**
  * Manages keyboard input for the provided screen.
@@ -14,9 +15,11 @@ public final class InputManager implements KeyListener {
 	private static InputManager instance;
 
 	/** Number of recognised keys. */
-	private static final int NUM_KEYS = 256;
+	static final int NUM_KEYS = 256;
 	/** Array with the keys marked as pressed or not. */
 	private final boolean[] keys;
+	/** Checks if keyboard events are ignored because a replay drives the keys. */
+	private boolean isReplaying;
 
 	/**
 	 * Private constructor.
@@ -47,6 +50,28 @@ public final class InputManager implements KeyListener {
 		return keys[keyCode];
 	}
 
+	/**
+	 * Copies the state of every key, taken once per frame of a game.
+	 *
+	 * @param frameKeys
+	 *            Array receiving the key states.
+	 */
+	void copyKeys(final boolean[] frameKeys) {
+		System.arraycopy(keys, 0, frameKeys, 0, NUM_KEYS);
+	}
+
+	/**
+	 * Makes the manager ignore or accept keyboard events. All keys are
+	 * released on every change.
+	 *
+	 * @param isReplaying
+	 *            True to ignore keyboard events.
+	 */
+	void setReplaying(final boolean isReplaying) {
+		this.isReplaying = isReplaying;
+		Arrays.fill(keys, false);
+	}
+
 	/**
 	 * Changes the state of the key to pressed.
 	 * 
@@ -55,8 +80,9 @@ public final class InputManager implements KeyListener {
 	 */
 	@Override
 	public void keyPressed(final KeyEvent key) {
-		if (key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS)
+		if (!isReplaying && key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS)
 			keys[key.getKeyCode()] = true;
+		WakeSignal.getInstance().signal();
 	}
 
 	/**
@@ -67,8 +93,9 @@ public final class InputManager implements KeyListener {
 	 */
 	@Override
 	public void keyReleased(final KeyEvent key) {
-		if (key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS)
+		if (!isReplaying && key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS)
 			keys[key.getKeyCode()] = false;
+		WakeSignal.getInstance().signal();
 	}
 
 	/**
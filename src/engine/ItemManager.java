@@ -3,12 +3,11 @@ package engine;
 import entity.Barrier;
 import entity.EnemyShip;
 import entity.EnemyShipFormation;
+import entity.FormationOccupancy;
 import entity.Ship;
 
 import java.awt.*;
 import java.util.AbstractMap.SimpleEntry;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map.Entry;
 import java.util.Random;
 import java.util.Set;
@@ -36,6 +35,12 @@ public class ItemManager {
     private static final int GHOST_COOLDOWN = 3000;
     /** Cooldown of Time-stop */
     private static final int TIME_STOP_COOLDOWN = 4000;
+    /** Width and height of the area hit by Bomb, in ships. */
+    private static final int BOMB_SIZE = 3;
+    /** Width of the area hit by Wide-bomb, in ships. */
+    private static final int WIDE_BOMB_WIDTH = 5;
+    /** Height of the area hit by Wide-bomb, in ships. */
+    private static final int WIDE_BOMB_HEIGHT = 2;
 
     /** Random generator. */
     private final Random rand;
@@ -65,6 +70,8 @@ public class ItemManager {
     public enum ItemType {
         BOMB,
         LINE_BOMB,
+        WIDE_BOMB,
+        COLUMN_BOMB,
         BARRIER,
         GHOST,
         TIME_STOP,
@@ -82,7 +89,7 @@ public class ItemManager {
      */
     public ItemManager(Ship ship, EnemyShipFormation enemyShipFormation, Set<Barrier> barriers, int width, int height, float balance) {
         this.shootNum = 1;
-        this.rand = new Random();
+        this.rand = GameRandom.getInstance().getRandom();
         this.ship = ship;
         this.enemyShipFormation = enemyShipFormation;
         this.barriers = barriers;
@@ -109,10 +116,11 @@ public class ItemManager {
     private ItemType selectItemType() {
         ItemType[] itemTypes = ItemType.values();
 
+        // MULTI_SHOT is the last item type.
         if (isMaxShootNum)
-            return itemTypes[rand.nextInt(5)];
+            return itemTypes[rand.nextInt(itemTypes.length - 1)];
 
-        return itemTypes[rand.nextInt(6)];
+        return itemTypes[rand.nextInt(itemTypes.length)];
     }
 
     /**
@@ -128,6 +136,8 @@ public class ItemManager {
         return switch (itemType) {
             case BOMB -> operateBomb();
             case LINE_BOMB -> operateLineBomb();
+            case WIDE_BOMB -> operateWideBomb();
+            case COLUMN_BOMB -> operateColumnBomb();
             case BARRIER -> operateBarrier();
             case GHOST -> operateGhost();
             case TIME_STOP -> operateTimeStop();
@@ -143,96 +153,83 @@ public class ItemManager {
     private Entry<Integer, Integer> operateBomb() {
         this.soundManager.playSound(Sound.ITEM_BOMB, balance);
 
-        int addScore = 0;
-        int addShipsDestroyed = 0;
-
-        List<List<EnemyShip>> enemyships = this.enemyShipFormation.getEnemyShips();
-        int enemyShipsSize = enemyships.size();
-
-        int maxCnt = -1;
-        int maxRow = 0, maxCol = 0;
-
-        for (int i = 0; i <= enemyShipsSize - 3; i++) {
-
-            List<EnemyShip> rowShips = enemyships.get(i);
-            int rowSize = rowShips.size();
+        FormationOccupancy.Area target = this.enemyShipFormation.getOccupancy()
+                .findDensestArea(BOMB_SIZE, BOMB_SIZE);
+        if (target == null)
+            return new SimpleEntry<>(0, 0);
 
-            for (int j = 0; j <= rowSize - 3; j++) {
-
-                int currentCnt = 0;
+        return destroyArea(target.column(), target.row(), BOMB_SIZE, BOMB_SIZE);
+    }
 
-                for (int x = i; x < i + 3; x++) {
+    /**
+     * Operate Line-bomb item.
+     *
+     * @return The score to add and the number of ships destroyed.
+     */
+    private Entry<Integer, Integer> operateLineBomb() {
+        this.soundManager.playSound(Sound.ITEM_BOMB, balance);
 
-                    List<EnemyShip> subRowShips = enemyships.get(x);
+        FormationOccupancy occupancy = this.enemyShipFormation.getOccupancy();
+        int destroyRow = occupancy.lowestOccupiedRow();
+        if (destroyRow == -1)
+            return new SimpleEntry<>(0, 0);
 
-                    for (int y = j; y < j + 3 && y < subRowShips.size(); y++) {
-                        EnemyShip ship = subRowShips.get(y);
+        return destroyArea(0, destroyRow, occupancy.getColumns(), 1);
+    }
 
-                        if (ship != null && !ship.isDestroyed())
-                            currentCnt++;
-                    }
-                }
+    /**
+     * Operate Wide-bomb item.
+     *
+     * @return The score to add and the number of ships destroyed.
+     */
+    private Entry<Integer, Integer> operateWideBomb() {
+        this.soundManager.playSound(Sound.ITEM_BOMB, balance);
 
-                if (currentCnt > maxCnt) {
-                    maxCnt = currentCnt;
-                    maxRow = i;
-                    maxCol = j;
-                }
-            }
-        }
+        FormationOccupancy.Area target = this.enemyShipFormation.getOccupancy()
+                .findDensestArea(WIDE_BOMB_WIDTH, WIDE_BOMB_HEIGHT);
+        if (target == null)
+            return new SimpleEntry<>(0, 0);
 
-        List<EnemyShip> targetEnemyShips = new ArrayList<>();
-        for (int i = maxRow; i < maxRow + 3; i++) {
-            List<EnemyShip> subRowShips = enemyships.get(i);
-            for (int j = maxCol; j < maxCol + 3 && j < subRowShips.size(); j++) {
-                EnemyShip ship = subRowShips.get(j);
+        return destroyArea(target.column(), target.row(), WIDE_BOMB_WIDTH, WIDE_BOMB_HEIGHT);
+    }
 
-                if (ship != null && !ship.isDestroyed())
-                    targetEnemyShips.add(ship);
-            }
-        }
+    /**
+     * Operate Column-bomb item.
+     *
+     * @return The score to add and the number of ships destroyed.
+     */
+    private Entry<Integer, Integer> operateColumnBomb() {
+        this.soundManager.playSound(Sound.ITEM_BOMB, balance);
 
-        if (!targetEnemyShips.isEmpty()) {
-            for (EnemyShip destroyedShip : targetEnemyShips) {
-                addScore += destroyedShip.getPointValue();
-                addShipsDestroyed++;
-                enemyShipFormation.destroy(destroyedShip, balance);
-            }
-        }
+        FormationOccupancy occupancy = this.enemyShipFormation.getOccupancy();
+        FormationOccupancy.Area target = occupancy.findDensestArea(1, occupancy.getRows());
+        if (target == null)
+            return new SimpleEntry<>(0, 0);
 
-        return new SimpleEntry<>(addScore, addShipsDestroyed);
+        return destroyArea(target.column(), 0, 1, occupancy.getRows());
     }
 
     /**
-     * Operate Line-bomb item.
+     * Destroys every live ship in a window of the formation.
      *
+     * @param column Leftmost column of the window.
+     * @param row Top row of the window.
+     * @param areaWidth Number of columns of the window.
+     * @param areaHeight Number of rows of the window.
      * @return The score to add and the number of ships destroyed.
      */
-    private Entry<Integer, Integer> operateLineBomb() {
-        this.soundManager.playSound(Sound.ITEM_BOMB, balance);
-
+    private Entry<Integer, Integer> destroyArea(int column, int row, int areaWidth, int areaHeight) {
         int addScore = 0;
         int addShipsDestroyed = 0;
 
-        List<List<EnemyShip>> enemyShips = this.enemyShipFormation.getEnemyShips();
-
-        int destroyRow = -1;
-
-        for (List<EnemyShip> column : enemyShips) {
-            for (int i = 0; i < column.size(); i++) {
-                if (column.get(i) != null && !column.get(i).isDestroyed())
-                    destroyRow = Math.max(destroyRow, i);
-            }
-        }
+        for (int x = column; x < column + areaWidth; x++) {
+            for (int y = row; y < row + areaHeight; y++) {
+                EnemyShip ship = this.enemyShipFormation.getShipAt(x, y);
 
-        if (destroyRow != -1) {
-            for (List<EnemyShip> column : enemyShips) {
-                if (destroyRow < column.size() &&
-                        column.get(destroyRow) != null &&
-                        !column.get(destroyRow).isDestroyed()) {
-                    addScore += column.get(destroyRow).getPointValue();
+                if (ship != null && !ship.isDestroyed()) {
+                    addScore += ship.getPointValue();
                     addShipsDestroyed++;
-                    enemyShipFormation.destroy(column.get(destroyRow), balance);
+                    enemyShipFormation.destroy(ship, balance);
                 }
             }
         }
@@ -0,0 +1,98 @@
+package engine;
+
+import entity.Block;
+import entity.EnemyShipFormation;
+import entity.Web;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Formation, webs and blocks a level starts with. A layout draws from a
+ * random generator of its own, seeded from the game random generator, and
+ * never reads the game clock. It can be built on another thread ahead of
+ * time and recorded games still replay the same.
+ *
+ * @param enemyShipFormation
+ *            Formation of the level, divers not deployed yet.
+ * @param webs
+ *            Webs of the level.
+ * @param blocks
+ *            Blocks of the level.
+ */
+public record LevelLayout(EnemyShipFormation enemyShipFormation, List<Web> webs, List<Block> blocks) {
+
+	/**
+	 * Builds the layout of a level.
+	 *
+	 * @param gameSettings
+	 *            Current game settings.
+	 * @param gameLevelState
+	 *            State of the game at the start of the level.
+	 * @param width
+	 *            Width of the game screen.
+	 * @param height
+	 *            Height of the game screen.
+	 * @param seed
+	 *            Seed of the positions of the webs and blocks.
+	 * @return Layout of the level.
+	 */
+	public static LevelLayout build(final GameSettings gameSettings, final GameLevelState gameLevelState,
+			final int width, final int height, final long seed) {
+		Random random = new Random(seed);
+		EnemyShipFormation enemyShipFormation = new EnemyShipFormation(gameSettings, gameLevelState);
+
+		List<Web> webs = new ArrayList<>();
+		int webCount = 1 + gameLevelState.level() / 3;
+		for (int i = 0; i < webCount; i++) {
+			int positionX = (int) Math.max(0, random.nextDouble() * width - 12 * 2);
+			webs.add(new Web(positionX, height - 30));
+		}
+
+		List<Block> blocks = new ArrayList<>();
+		int blockCount = gameLevelState.level() / 2;
+		int playerTopYContainBarrier = height - 40 - 150;
+		int enemyBottomY = 100 + (gameLevelState.formationHeight() - 1) * 48;
+		for (int i = 0; i < blockCount; i++) {
+			Block newBlock;
+			boolean overlapping;
+			do {
+				newBlock = new Block(0, 0);
+				int positionX = (int) (random.nextDouble() * (width - newBlock.getWidth()));
+				int positionY = (int) (random.nextDouble()
+						* (playerTopYContainBarrier - enemyBottomY - newBlock.getHeight())) + enemyBottomY;
+				newBlock = new Block(positionX, positionY);
+
+				overlapping = false;
+				for (Block block : blocks)
+					if (newBlock.getBounds().intersects(block.getBounds())) {
+						overlapping = true;
+						break;
+					}
+			} while (overlapping);
+			blocks.add(newBlock);
+		}
+
+		return new LevelLayout(enemyShipFormation, webs, blocks);
+	}
+
+	/**
+	 * Builds the layout of a level now, seeded from the game random
+	 * generator.
+	 *
+	 * @param gameSettings
+	 *            Current game settings.
+	 * @param gameLevelState
+	 *            State of the game at the start of the level.
+	 * @param width
+	 *            Width of the game screen.
+	 * @param height
+	 *            Height of the game screen.
+	 * @return Layout of the level.
+	 */
+	public static LevelLayout build(final GameSettings gameSettings, final GameLevelState gameLevelState,
+			final int width, final int height) {
+		return build(gameSettings, gameLevelState, width, height, GameRandom.getInstance().getRandom().nextLong());
+	}
+}
@@ -0,0 +1,31 @@
+package engine;
+
+/**
+ * Statistics of every play of a level.
+ *
+ * @param plays        Number of times the level was played, lost plays included.
+ * @param playTime     Total time spent on the level, in seconds.
+ * @param bestCombo    Best combo reached on the level.
+ * @param bestAccuracy Best accuracy reached on the level.
+ */
+public record LevelStatistics(int plays, int playTime, int bestCombo, double bestAccuracy) {
+
+	/** Statistics of a level never played. */
+	public static final LevelStatistics NONE = new LevelStatistics(0, 0, 0, 0);
+
+	/**
+	 * Adds a play of the level.
+	 *
+	 * @param playTime
+	 *            Time spent on the level, in seconds.
+	 * @param combo
+	 *            Best combo of the play.
+	 * @param accuracy
+	 *            Accuracy of the play.
+	 * @return Statistics including the play.
+	 */
+	public LevelStatistics played(final int playTime, final int combo, final double accuracy) {
+		return new LevelStatistics(this.plays + 1, this.playTime + playTime,
+				Math.max(this.bestCombo, combo), Math.max(this.bestAccuracy, accuracy));
+	}
+}
@@ -0,0 +1,199 @@
+package engine;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+/**
+ * Writes profile records on a background thread so callers never wait for
+ * the disk. Saves are committed in the order they were made; saves of the
+ * same record made before the writer gets to them are coalesced into the
+ * latest one, and every record waiting is written in a single commit. A
+ * failed commit is retried, waiting longer after each failure.
+ */
+final class PersistenceService {
+
+	/** Application logger. */
+	private static final Logger logger = Core.getLogger();
+	/** Time before the first retry of a failed commit, in milliseconds. */
+	private static final long FIRST_RETRY_DELAY = 500;
+	/** Longest time between two retries of a failed commit, in milliseconds. */
+	private static final long MAX_RETRY_DELAY = 30000;
+	/** Time between two commits while flushing, in milliseconds. */
+	private static final long FLUSH_RETRY_INTERVAL = 100;
+
+	/** Write to a file other than the profile. */
+	@FunctionalInterface
+	interface Write {
+		/**
+		 * Writes to the file.
+		 *
+		 * @throws IOException
+		 *             In case of writing problems.
+		 */
+		void run() throws IOException;
+	}
+
+	/** Profile the records are written to. */
+	private final ProfileStore store;
+	/** Writes the records, one commit at a time. */
+	private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "profile-writer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	/** Records saved but not taken by the writer yet, by key. */
+	private final Map<String, byte[]> pending = new LinkedHashMap<>();
+	/** Records being committed by the writer, by key. */
+	private Map<String, byte[]> inFlight = Map.of();
+	/** Whether a commit of the pending records is queued. */
+	private boolean commitQueued;
+	/** Time before the next retry of a failed commit, used by the writer only. */
+	private long retryDelay = FIRST_RETRY_DELAY;
+
+	/**
+	 * Constructor, establishes the profile written to.
+	 *
+	 * @param store
+	 *            Profile the records are written to.
+	 */
+	PersistenceService(final ProfileStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * Getter for a record, including saves not yet on disk.
+	 *
+	 * @param key
+	 *            Key of the record.
+	 * @return Content of the record, null if there is none.
+	 */
+	byte[] get(final String key) {
+		synchronized (this) {
+			byte[] record = this.pending.get(key);
+			if (record == null)
+				record = this.inFlight.get(key);
+			if (record != null)
+				return record.clone();
+		}
+		return this.store.get(key);
+	}
+
+	/**
+	 * Saves a record in the background.
+	 *
+	 * @param key
+	 *            Key of the record.
+	 * @param record
+	 *            Content of the record.
+	 */
+	synchronized void save(final String key, final byte[] record) {
+		this.pending.remove(key);
+		this.pending.put(key, record.clone());
+		if (!this.commitQueued) {
+			this.commitQueued = true;
+			this.writer.execute(this::commitPending);
+		}
+	}
+
+	/**
+	 * Runs a write on the writer thread, after the saves made before it.
+	 *
+	 * @param write
+	 *            Write to run, failures are logged.
+	 */
+	void execute(final Write write) {
+		this.writer.execute(() -> {
+			try {
+				write.run();
+			} catch (IOException e) {
+				logger.warning("Couldn't write user data: " + e.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * Waits until every record saved so far is on disk, committing them again
+	 * without waiting for a retry when a commit fails.
+	 *
+	 * @param timeoutMillis
+	 *            Maximum time to wait, in milliseconds.
+	 * @return True if every record was saved, false if some are still waiting,
+	 *         which is logged.
+	 */
+	boolean flush(final long timeoutMillis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		try {
+			while (true) {
+				this.writer.submit(this::commitPending).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+				synchronized (this) {
+					if (this.pending.isEmpty())
+						return true;
+				}
+				long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remaining <= 0)
+					break;
+				Thread.sleep(Math.min(FLUSH_RETRY_INTERVAL, remaining));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException | TimeoutException e) {
+			logger.warning("Couldn't finish saving the profile: " + e);
+		}
+
+		synchronized (this) {
+			if (this.pending.isEmpty() && this.inFlight.isEmpty())
+				return true;
+			Set<String> unsaved = new LinkedHashSet<>(this.pending.keySet());
+			unsaved.addAll(this.inFlight.keySet());
+			logger.warning("Profile records not saved: " + unsaved);
+		}
+		return false;
+	}
+
+	/**
+	 * Commits the pending records, run by the writer. Records that fail to
+	 * commit are kept pending unless saved again meanwhile, and a retry is
+	 * queued, each one waiting twice as long as the last.
+	 */
+	private void commitPending() {
+		Map<String, byte[]> batch;
+		synchronized (this) {
+			this.commitQueued = false;
+			if (this.pending.isEmpty())
+				return;
+			batch = new LinkedHashMap<>(this.pending);
+			this.pending.clear();
+			this.inFlight = batch;
+		}
+
+		try {
+			this.store.commit(batch);
+			this.retryDelay = FIRST_RETRY_DELAY;
+		} catch (IOException e) {
+			logger.warning("Couldn't save the profile, retrying in " + this.retryDelay + " ms: "
+					+ e.getMessage());
+			synchronized (this) {
+				for (Map.Entry<String, byte[]> record : batch.entrySet())
+					this.pending.putIfAbsent(record.getKey(), record.getValue());
+				if (!this.commitQueued) {
+					this.commitQueued = true;
+					this.writer.schedule(this::commitPending, this.retryDelay, TimeUnit.MILLISECONDS);
+				}
+			}
+			this.retryDelay = Math.min(this.retryDelay * 2, MAX_RETRY_DELAY);
+		} finally {
+			synchronized (this) {
+				this.inFlight = Map.of();
+			}
+		}
+	}
+}
@@ -0,0 +1,250 @@
+package engine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Keeps the records of the player profile in a single binary file. A commit
+ * writes every record to a temporary file, forces it to disk and renames it
+ * over the profile, so a crash leaves either the old or the new profile and
+ * never a half written one. A checksum at the end of the file catches any
+ * other damage. A damaged profile is moved aside before the first commit,
+ * and a profile that can't be read is never overwritten.
+ */
+final class ProfileStore {
+
+	/** First bytes of a profile, "INVP". */
+	private static final int MAGIC = 0x494E5650;
+	/** Version of the profile format. */
+	private static final int VERSION = 1;
+	/** Size of the header: magic, version and record count. */
+	private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES * 2;
+	/** Suffix of a damaged profile moved aside. */
+	private static final String CORRUPT_SUFFIX = ".corrupt";
+
+	/** Application logger. */
+	private static final Logger logger = Core.getLogger();
+
+	/** Profile file. */
+	private final Path file;
+	/** Records by key, as last committed. Replaced, never modified. */
+	private volatile Map<String, byte[]> records;
+	/** Whether the profile couldn't be read, so committing would lose its records. */
+	private boolean unreadable;
+
+	/**
+	 * Constructor, the profile is read the first time a record is needed.
+	 *
+	 * @param file
+	 *            Profile file.
+	 */
+	ProfileStore(final Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * Getter for a record.
+	 *
+	 * @param key
+	 *            Key of the record.
+	 * @return Content of the record, null if there is none.
+	 */
+	byte[] get(final String key) {
+		byte[] record = getRecords().get(key);
+		return record == null ? null : record.clone();
+	}
+
+	/**
+	 * Writes records to the profile in a single commit, keeping the other
+	 * records as they are.
+	 *
+	 * @param changes
+	 *            Contents of the records to write, by key.
+	 * @throws IOException
+	 *             In case of writing problems, or if the profile can't be
+	 *             read. The profile is left unchanged.
+	 */
+	synchronized void commit(final Map<String, byte[]> changes) throws IOException {
+		// Read again, the problem may have been temporary.
+		if (this.unreadable)
+			this.records = null;
+		Map<String, byte[]> current = getRecords();
+		if (this.unreadable)
+			throw new IOException("Profile can't be read, not overwriting it.");
+		Map<String, byte[]> committed = new LinkedHashMap<>(current);
+		for (Map.Entry<String, byte[]> change : changes.entrySet())
+			committed.put(change.getKey(), change.getValue().clone());
+
+		replace(this.file, encode(committed));
+		this.records = committed;
+	}
+
+	/**
+	 * Replaces the content of a file atomically: the content is written to
+	 * a temporary file next to it, forced to disk and renamed over the file.
+	 * The directory is forced too, so the rename survives a crash.
+	 *
+	 * @param file
+	 *            File to replace.
+	 * @param content
+	 *            New content of the file.
+	 * @throws IOException
+	 *             In case of writing problems, the file is left unchanged.
+	 */
+	static void replace(final Path file, final byte[] content) throws IOException {
+		Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+		if (file.getParent() != null)
+			Files.createDirectories(file.getParent());
+		ByteBuffer buffer = ByteBuffer.wrap(content);
+		try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			channel.force(true);
+		}
+		try {
+			Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+		forceDirectory(file.toAbsolutePath().getParent());
+	}
+
+	/**
+	 * Forces the entries of a directory to disk. Not every platform can open
+	 * a directory, there the rename is left to the file system.
+	 *
+	 * @param directory
+	 *            Directory to force.
+	 */
+	private static void forceDirectory(final Path directory) {
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException e) {
+			logger.fine("Couldn't force the directory " + directory + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Reads the profile if it wasn't read yet. A missing or damaged profile
+	 * reads as empty, a damaged one being moved aside first. A profile that
+	 * can't be read reads as empty too, but is marked unreadable.
+	 *
+	 * @return Records by key.
+	 */
+	private Map<String, byte[]> getRecords() {
+		Map<String, byte[]> records = this.records;
+		return records != null ? records : readRecords();
+	}
+
+	private synchronized Map<String, byte[]> readRecords() {
+		if (this.records != null)
+			return this.records;
+		this.unreadable = false;
+		byte[] content;
+		try {
+			content = Files.readAllBytes(this.file);
+		} catch (NoSuchFileException e) {
+			this.records = new LinkedHashMap<>();
+			return this.records;
+		} catch (IOException e) {
+			logger.warning("Couldn't read the profile: " + e.getMessage());
+			this.unreadable = true;
+			this.records = new LinkedHashMap<>();
+			return this.records;
+		}
+
+		try {
+			this.records = decode(content);
+		} catch (IOException e) {
+			Path corruptFile = this.file.resolveSibling(this.file.getFileName() + CORRUPT_SUFFIX);
+			try {
+				Files.move(this.file, corruptFile, StandardCopyOption.REPLACE_EXISTING);
+				logger.warning("Damaged profile moved to " + corruptFile + ", starting from an empty one: "
+						+ e.getMessage());
+			} catch (IOException moveException) {
+				logger.warning("Couldn't move the damaged profile aside: " + moveException.getMessage());
+				this.unreadable = true;
+			}
+			this.records = new LinkedHashMap<>();
+		}
+		return this.records;
+	}
+
+	/**
+	 * Encodes records as a profile file.
+	 *
+	 * @param records
+	 *            Records by key.
+	 * @return Content of the file.
+	 * @throws IOException
+	 *             In case of encoding problems.
+	 */
+	static byte[] encode(final Map<String, byte[]> records) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		output.writeInt(MAGIC);
+		output.writeShort(VERSION);
+		output.writeShort(records.size());
+		for (Map.Entry<String, byte[]> record : records.entrySet()) {
+			output.writeUTF(record.getKey());
+			output.writeInt(record.getValue().length);
+			output.write(record.getValue());
+		}
+		CRC32C checksum = new CRC32C();
+		checksum.update(bytes.toByteArray());
+		output.writeInt((int) checksum.getValue());
+		output.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes the records of a profile file.
+	 *
+	 * @param content
+	 *            Content of the file.
+	 * @return Records by key.
+	 * @throws IOException
+	 *             If the file isn't a profile or is damaged.
+	 */
+	static Map<String, byte[]> decode(final byte[] content) throws IOException {
+		if (content.length < HEADER_SIZE + Integer.BYTES)
+			throw new IOException("Profile is truncated.");
+		ByteBuffer buffer = ByteBuffer.wrap(content);
+		CRC32C checksum = new CRC32C();
+		checksum.update(content, 0, content.length - Integer.BYTES);
+		if (buffer.getInt(content.length - Integer.BYTES) != (int) checksum.getValue())
+			throw new IOException("Profile checksum doesn't match.");
+
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION)
+				throw new IOException("Not a profile of version " + VERSION + ".");
+			int count = buffer.getShort() & 0xFFFF;
+			Map<String, byte[]> records = new LinkedHashMap<>();
+			for (int i = 0; i < count; i++) {
+				byte[] key = new byte[buffer.getShort() & 0xFFFF];
+				buffer.get(key);
+				byte[] record = new byte[buffer.getInt()];
+				buffer.get(record);
+				records.put(new String(key, StandardCharsets.UTF_8), record);
+			}
+			return records;
+		} catch (RuntimeException e) {
+			throw new IOException("Corrupted profile.", e);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package engine;
+
+import entity.Entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Entities of one frame, copied so they can be drawn from another thread
+ * while the game keeps changing the originals. A snapshot keeps its copies
+ * and reuses them the next time it captures a frame.
+ */
+public final class RenderSnapshot {
+
+	/** Copies of the entities of the frame, in drawing order. */
+	private final List<Entity> entities = new ArrayList<>();
+	/** Read only view of the copies. */
+	private final List<Entity> view = Collections.unmodifiableList(entities);
+
+	/**
+	 * Package-private constructor, snapshots are made by a snapshot exchange.
+	 */
+	RenderSnapshot() {
+	}
+
+	/**
+	 * Copies the entities of a frame, reusing the copies of the last frame
+	 * captured at the same positions of the list.
+	 *
+	 * @param frameEntities
+	 *            Entities of the frame.
+	 */
+	void capture(final List<Entity> frameEntities) {
+		int size = frameEntities.size();
+		for (int i = 0; i < size; i++) {
+			Entity reuse = i < entities.size() ? entities.get(i) : null;
+			Entity copy = frameEntities.get(i).copyForRender(reuse);
+			if (i < entities.size())
+				entities.set(i, copy);
+			else
+				entities.add(copy);
+		}
+		entities.subList(size, entities.size()).clear();
+	}
+
+	/**
+	 * Getter for the entities of the frame.
+	 *
+	 * @return Entities to draw, in order.
+	 */
+	public List<Entity> getEntities() {
+		return view;
+	}
+}
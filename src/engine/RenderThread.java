@@ -0,0 +1,71 @@
+package engine;
+
+import screen.Screen;
+
+/**
+ * Draws the frames of a screen on a thread of its own, so the screen can
+ * update the next frame while the last one is drawn.
+ */
+public final class RenderThread implements Runnable {
+
+	/** Longest wait for a frame before checking if drawing should stop. */
+	private static final long FRAME_TIMEOUT = 100;
+
+	/** Screen the frames are drawn for. */
+	private final Screen screen;
+	/** Frames published by the screen. */
+	private final SnapshotExchange snapshots;
+	/** Thread drawing the frames. */
+	private final Thread thread;
+	/** Whether frames are still being drawn. */
+	private volatile boolean running;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param screen
+	 *            Screen the frames are drawn for.
+	 * @param snapshots
+	 *            Frames published by the screen.
+	 */
+	public RenderThread(final Screen screen, final SnapshotExchange snapshots) {
+		this.screen = screen;
+		this.snapshots = snapshots;
+		this.thread = new Thread(this, "render");
+		this.thread.setDaemon(true);
+	}
+
+	/**
+	 * Starts drawing frames.
+	 */
+	public void start() {
+		this.running = true;
+		this.thread.start();
+	}
+
+	/**
+	 * Stops drawing frames, waiting for the frame being drawn to finish.
+	 */
+	public void stop() {
+		this.running = false;
+		this.thread.interrupt();
+		try {
+			this.thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void run() {
+		Renderer renderer = Renderer.getInstance();
+		while (this.running) {
+			RenderSnapshot snapshot = this.snapshots.awaitNewer(FRAME_TIMEOUT);
+			if (snapshot == null)
+				continue;
+			renderer.initDrawing(this.screen);
+			renderer.drawEntities(snapshot.getEntities());
+			renderer.completeDrawing(this.screen);
+		}
+	}
+}
@@ -1,11 +1,12 @@
 package engine;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontFormatException;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
-import java.awt.geom.AffineTransform;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.awt.Graphics2D;
 import java.io.File;
@@ -34,13 +35,30 @@ public final class Renderer {
 	private Graphics backBufferGraphics;
 	/** Buffer image. */
 	private BufferedImage backBuffer;
-	/** Vertical line width for two player mode **/
-	private static final int LINE_WIDTH = 1;
+	/** Frames between whole presents in dirty rectangle mode, repairing a window that was covered. */
+	private static final int FULL_PRESENT_INTERVAL = 60;
+	/** Number of damaged regions above which they are merged into one. */
+	private static final int MAX_DIRTY_REGIONS = 16;
+	/** Margin added around damaged regions. */
+	private static final int DIRTY_MARGIN = 2;
+
+	/** Screen whose last frame the back buffer holds, in dirty rectangle mode. */
+	private Screen dirtyScreen;
+	/** Entities drawn in the last dirty rectangle frame. */
+	private List<Entity> dirtyEntities = new ArrayList<>();
+	/** Frames since the back buffer was last presented whole. */
+	private int framesSinceFullPresent;
 
 	private Logger logger;
 
 	/** Sprite types mapped to their images. */
-	private static final Map<SpriteType, boolean[][]> spriteMap = new LinkedHashMap<>();
+	private static final Map<SpriteType, SpriteMask> spriteMap = new EnumMap<>(SpriteType.class);
+	/** Sprite types mapped to their masks at drawn size, for collisions. */
+	private static final Map<SpriteType, SpriteMask> collisionMasks = new EnumMap<>(SpriteType.class);
+	/** Draws sprites straight into the back buffer pixels, null when sprites are drawn through Java2D. */
+	private SpriteRasterizer spriteRasterizer;
+	/** Blocker sprites prerendered at each rotation step. */
+	private final RotatedSpriteCache rotatedSpriteCache = new RotatedSpriteCache();
 
 	/** Sprite types. */
 	public enum SpriteType {
@@ -117,38 +135,9 @@ public final class Renderer {
 		logger.info("Started loading resources.");
 
 		try {
-			spriteMap.put(SpriteType.SHIP, new boolean[13][8]);
-			spriteMap.put(SpriteType.SHIP_DESTROYED, new boolean[13][8]);
-			spriteMap.put(SpriteType.BULLET_TYPE_1, new boolean[3][5]);
-			spriteMap.put(SpriteType.BULLET_TYPE_2, new boolean[3][5]);
-			spriteMap.put(SpriteType.BULLET_TYPE_3, new boolean[3][5]);
-			spriteMap.put(SpriteType.BULLET_TYPE_4, new boolean[3][5]);
-			spriteMap.put(SpriteType.ENEMY_BULLET, new boolean[3][5]);
-			spriteMap.put(SpriteType.ENEMY_SHIP_A1, new boolean[12][8]);
-			spriteMap.put(SpriteType.ENEMY_SHIP_A2, new boolean[12][8]);
-			spriteMap.put(SpriteType.ENEMY_SHIP_B1, new boolean[12][8]);
-			spriteMap.put(SpriteType.ENEMY_SHIP_B2, new boolean[12][8]);
-			spriteMap.put(SpriteType.ENEMY_SHIP_C1, new boolean[12][8]);
-			spriteMap.put(SpriteType.ENEMY_SHIP_C2, new boolean[12][8]);
-			spriteMap.put(SpriteType.ENEMY_SHIP_SPECIAL, new boolean[16][7]);
-			spriteMap.put(SpriteType.EXPLOSION, new boolean[13][7]);
-			spriteMap.put(SpriteType.BARRIER, new boolean[39][11]);
-			spriteMap.put(SpriteType.ITEM_BOX, new boolean[7][7]);
-			spriteMap.put(SpriteType.WEB, new boolean[12][8]);
-			spriteMap.put(SpriteType.BLOCK, new boolean[20][7]);
-			spriteMap.put(SpriteType.BLOCKER_1, new boolean[182][93]); // artificial satellite
-			spriteMap.put(SpriteType.BLOCKER_2, new boolean[82][81]); // astronaut
-			spriteMap.put(SpriteType.SHIP_2, new boolean[13][8]);
-			spriteMap.put(SpriteType.SHIP_3, new boolean[13][8]);
-			spriteMap.put(SpriteType.SHIP_4, new boolean[13][8]);
-			spriteMap.put(SpriteType.ENEMY_SHIP_D1, new boolean[12][8]);
-			spriteMap.put(SpriteType.ENEMY_SHIP_D2, new boolean[12][8]);
-			spriteMap.put(SpriteType.ENEMY_SHIP_E1, new boolean[12][8]);
-			spriteMap.put(SpriteType.ENEMY_SHIP_E2, new boolean[12][8]);
-			spriteMap.put(SpriteType.ENEMY_SHIP_F1, new boolean[16][7]);
-			spriteMap.put(SpriteType.ENEMY_SHIP_F2, new boolean[16][7]);
-
-			fileManager.loadSprite(spriteMap);
+			spriteMap.putAll(fileManager.loadSprites());
+			for (Map.Entry<SpriteType, SpriteMask> sprite : spriteMap.entrySet())
+				collisionMasks.put(sprite.getKey(), sprite.getValue().doubled());
 			logger.info("Finished loading the sprites.");
 
 		} catch (IOException e) {
@@ -167,6 +156,29 @@ public final class Renderer {
 		return instance;
 	}
 
+	/**
+	 * Getter for the mask of a sprite at the size it is drawn, each sprite
+	 * pixel covering two by two pixels.
+	 *
+	 * @param spriteType
+	 *            Sprite type.
+	 * @return Mask of the sprite, null if it wasn't loaded.
+	 */
+	public SpriteMask getCollisionMask(final SpriteType spriteType) {
+		return collisionMasks.get(spriteType);
+	}
+
+	/**
+	 * Sets whether sprites are written straight into the back buffer pixels
+	 * instead of being drawn through Java2D.
+	 *
+	 * @param softwareRasterizer
+	 *            True to use the software rasterizer.
+	 */
+	public void setSoftwareRasterizer(final boolean softwareRasterizer) {
+		spriteRasterizer = softwareRasterizer ? new SpriteRasterizer() : null;
+	}
+
 	/**
 	 * Sets the frame to draw the image on.
 	 *
@@ -196,6 +208,116 @@ public final class Renderer {
 				.fillRect(0, 0, screen.getWidth(), screen.getHeight());
 
 		FontManager.initializeMetrics(backBufferGraphics);
+		if (spriteRasterizer != null)
+			spriteRasterizer.setSurface(backBuffer);
+		dirtyScreen = null;
+	}
+
+	/**
+	 * Draws a frame in dirty rectangle mode. The back buffer is kept between
+	 * frames, and only the regions where entities differ from the previous
+	 * frame are cleared, redrawn and presented. The entities must be built
+	 * again on every frame, since an entity changed in place compares equal
+	 * to itself.
+	 *
+	 * @param screen
+	 *            Screen to draw in.
+	 * @param entities
+	 *            Entities of the frame.
+	 * @return False when nothing changed since the previous frame.
+	 */
+	public boolean drawDirty(final Screen screen, final List<Entity> entities) {
+		if (dirtyScreen != screen || backBuffer == null) {
+			initDrawing(screen);
+			drawEntities(entities);
+			completeDrawing(screen);
+			dirtyScreen = screen;
+			dirtyEntities = new ArrayList<>(entities);
+			framesSinceFullPresent = 0;
+			return true;
+		}
+
+		graphics = frame.getGraphics();
+		Rectangle screenBounds = new Rectangle(0, 0, screen.getWidth(), screen.getHeight());
+		List<Rectangle> damage = new ArrayList<>();
+		for (Rectangle region : findDamage(dirtyEntities, entities)) {
+			region = region.intersection(screenBounds);
+			if (!region.isEmpty())
+				damage.add(region);
+		}
+
+		for (Rectangle region : damage) {
+			backBufferGraphics.setClip(region);
+			if (spriteRasterizer != null)
+				spriteRasterizer.setClip(region.x, region.y, region.width, region.height);
+			backBufferGraphics.setColor(Color.BLACK);
+			backBufferGraphics.fillRect(region.x, region.y, region.width, region.height);
+			for (Entity entity : entities)
+				if (entity.getBounds().intersects(region))
+					drawEntity(entity);
+		}
+		backBufferGraphics.setClip(null);
+		if (spriteRasterizer != null)
+			spriteRasterizer.resetClip();
+
+		if (++framesSinceFullPresent >= FULL_PRESENT_INTERVAL) {
+			completeDrawing(screen);
+			framesSinceFullPresent = 0;
+		} else {
+			int left = frame.getInsets().left;
+			int top = frame.getInsets().top;
+			for (Rectangle region : damage)
+				graphics.drawImage(backBuffer, left + region.x, top + region.y,
+						left + region.x + region.width, top + region.y + region.height,
+						region.x, region.y, region.x + region.width, region.y + region.height, frame);
+		}
+		dirtyEntities = new ArrayList<>(entities);
+		return !damage.isEmpty();
+	}
+
+	/**
+	 * Finds the regions that changed between two frames. Entities are matched
+	 * by their position in the lists; when they don't draw the same, both the
+	 * old and the new bounds are damaged.
+	 *
+	 * @param previous
+	 *            Entities of the previous frame.
+	 * @param current
+	 *            Entities of the current frame.
+	 * @return Damaged regions.
+	 */
+	private static List<Rectangle> findDamage(final List<Entity> previous, final List<Entity> current) {
+		List<Rectangle> damage = new ArrayList<>();
+		for (int i = 0; i < Math.max(previous.size(), current.size()); i++) {
+			Entity before = i < previous.size() ? previous.get(i) : null;
+			Entity after = i < current.size() ? current.get(i) : null;
+			if (before != null && before.drawsSameAs(after))
+				continue;
+			if (before != null)
+				damage.add(expand(before.getBounds()));
+			if (after != null)
+				damage.add(expand(after.getBounds()));
+		}
+
+		if (damage.size() > MAX_DIRTY_REGIONS) {
+			Rectangle union = damage.getFirst();
+			for (Rectangle region : damage)
+				union = union.union(region);
+			return List.of(union);
+		}
+		return damage;
+	}
+
+	/**
+	 * Grows a region by the dirty margin on every side.
+	 *
+	 * @param region
+	 *            Region to grow.
+	 * @return Grown region.
+	 */
+	private static Rectangle expand(final Rectangle region) {
+		region.grow(DIRTY_MARGIN, DIRTY_MARGIN);
+		return region;
 	}
 
 
@@ -210,82 +332,164 @@ public final class Renderer {
 				frame.getInsets().top, frame);
 	}
 
-	public void drawEntities(final List<Entity> entities) {
+	/**
+	 * Creates a transparent image to prerender a layer on. Entities placing
+	 * text need font metrics, so they are initialized here if nothing was
+	 * drawn yet.
+	 *
+	 * @param width
+	 *            Width of the layer.
+	 * @param height
+	 *            Height of the layer.
+	 * @return Empty layer.
+	 */
+	public BufferedImage createLayer(final int width, final int height) {
+		BufferedImage layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		if (FontManager.getFontRegularMetrics() == null)
+			FontManager.initializeMetrics(layer.getGraphics());
+		return layer;
+	}
+
+	/**
+	 * Clears a layer and draws entities on it, so they can later be drawn on
+	 * screen with a single image copy.
+	 *
+	 * @param layer
+	 *            Layer to draw on.
+	 * @param entities
+	 *            Entities to draw, text, lines, rectangles and sprites.
+	 */
+	public void renderLayer(final BufferedImage layer, final List<Entity> entities) {
+		Graphics2D target = layer.createGraphics();
+		target.setComposite(AlphaComposite.Clear);
+		target.fillRect(0, 0, layer.getWidth(), layer.getHeight());
+		target.setComposite(AlphaComposite.SrcOver);
+
 		for (Entity entity : entities) {
+			target.setColor(entity.getColor());
 			switch (entity.getType()) {
-                case TEXT:
-					drawTextEntity((TextEntity) entity);
-                    break;
-                case SPRITE:
-					drawSpriteEntity((SpriteEntity) entity);
-                    break;
-				case IMAGE:
-					drawImageEntity((ImageEntity) entity);
-					break;
-				case RECT:
-					drawRectEntity((RectEntity) entity);
-					break;
-				case LINE:
-					drawLineEntity((LineEntity) entity);
-					break;
-				case POLYGON:
-					drawFillPolygonEntity((PolygonEntity) entity);
-					break;
-				case ARC:
-					drawFillArcEntity((ArcEntity) entity);
-					break;
-				case BLOCKER:
-					drawBlockerEntity((Blocker) entity);
-					break;
-                default:
-					logger.warning("Unknown Entity type: " + entity.getClass().getSimpleName());
-            }
+				case TEXT -> {
+					TextEntity textEntity = (TextEntity) entity;
+					target.setFont(textEntity.getFont());
+					target.drawString(textEntity.getText(), textEntity.getPositionX(), textEntity.getPositionY());
+				}
+				case LINE -> {
+					LineEntity lineEntity = (LineEntity) entity;
+					target.drawLine(lineEntity.getPositionX(), lineEntity.getPositionY(),
+							lineEntity.getPositionX2(), lineEntity.getPositionY2());
+				}
+				case RECT -> {
+					RectEntity rectEntity = (RectEntity) entity;
+					if (rectEntity.getIsFilled())
+						target.fillRect(rectEntity.getPositionX(), rectEntity.getPositionY(),
+								rectEntity.getWidth(), rectEntity.getHeight());
+					else
+						target.drawRect(rectEntity.getPositionX(), rectEntity.getPositionY(),
+								rectEntity.getWidth(), rectEntity.getHeight());
+				}
+				case SPRITE -> drawSpriteEntity(target, (SpriteEntity) entity);
+				default -> Core.getLogger().warning("Unknown layer entity type: "
+						+ entity.getClass().getSimpleName());
+			}
 		}
+		target.dispose();
 	}
 
-	public void drawEntities(final List<Entity> entities, final int screenWidth) {
+	public void drawEntities(final List<Entity> entities) {
+		for (Entity entity : entities)
+			drawEntity(entity);
+	}
 
-		int screenGap = screenWidth / 2 + LINE_WIDTH;
-		for (Entity entity : entities) {
-			switch (entity.getType()) {
-				case TEXT:
-					drawTextEntity((TextEntity) entity, screenGap);
-					break;
-				case SPRITE:
-					drawSpriteEntity((SpriteEntity) entity, screenGap);
-					break;
-				case IMAGE:
-					drawImageEntity((ImageEntity) entity, screenGap);
-					break;
-				case RECT:
-					drawRectEntity((RectEntity) entity, screenGap);
-					break;
-				case LINE:
-					drawLineEntity((LineEntity) entity, screenGap);
-					break;
-				case POLYGON:
-					drawFillPolygonEntity((PolygonEntity) entity, screenGap);
-					break;
-				case ARC:
-					drawFillArcEntity((ArcEntity) entity, screenGap);
-					break;
-				case BLOCKER:
-					drawBlockerEntity((Blocker) entity, screenGap);
-					break;
-				default:
-					logger.warning("Unknown Entity type: " + entity.getClass().getSimpleName());
+	/**
+	 * Draws a single entity on the back buffer.
+	 *
+	 * @param entity
+	 *            Entity to draw.
+	 */
+	public void drawEntity(final Entity entity) {
+		switch (entity.getType()) {
+			case TEXT:
+				drawTextEntity((TextEntity) entity);
+				break;
+			case SPRITE:
+				drawSpriteEntity((SpriteEntity) entity);
+				break;
+			case IMAGE:
+				drawImageEntity((ImageEntity) entity);
+				break;
+			case RECT:
+				drawRectEntity((RectEntity) entity);
+				break;
+			case LINE:
+				drawLineEntity((LineEntity) entity);
+				break;
+			case POLYGON:
+				drawFillPolygonEntity((PolygonEntity) entity);
+				break;
+			case ARC:
+				drawFillArcEntity((ArcEntity) entity);
+				break;
+			case BLOCKER:
+				drawBlockerEntity((Blocker) entity);
+				break;
+			default:
+				logger.warning("Unknown Entity type: " + entity.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Draws entities into a viewport. The back buffer graphics are translated
+	 * and clipped to the viewport while drawing, so the entities keep their
+	 * own coordinates.
+	 *
+	 * @param entities
+	 *            Entities to draw.
+	 * @param viewport
+	 *            Region of the screen to draw in.
+	 */
+	public void drawEntities(final List<Entity> entities, final Viewport viewport) {
+		Graphics screenGraphics = backBufferGraphics;
+		backBufferGraphics = screenGraphics.create(viewport.x(), viewport.y(), viewport.width(), viewport.height());
+		if (spriteRasterizer != null) {
+			spriteRasterizer.setOrigin(viewport.x(), viewport.y());
+			spriteRasterizer.setClip(viewport.x(), viewport.y(), viewport.width(), viewport.height());
+		}
+		try {
+			drawEntities(entities);
+		} finally {
+			backBufferGraphics.dispose();
+			backBufferGraphics = screenGraphics;
+			if (spriteRasterizer != null) {
+				spriteRasterizer.setOrigin(0, 0);
+				spriteRasterizer.resetClip();
 			}
 		}
 	}
 
 	public void drawSpriteEntity(final SpriteEntity spriteEntity) {
-		boolean[][] image = spriteMap.get(spriteEntity.getSpriteType());
+		if (spriteRasterizer != null)
+			spriteRasterizer.drawSprite(spriteMap.get(spriteEntity.getSpriteType()),
+					spriteEntity.getPositionX(), spriteEntity.getPositionY(), spriteEntity.getColor().getRGB());
+		else
+			drawSpriteEntity(backBufferGraphics, spriteEntity);
+	}
 
-		backBufferGraphics.setColor(spriteEntity.getColor());
-		for (int i = 0; i < image.length; i++)
-			for (int j = 0; j < image[i].length; j++)
-				if (image[i][j])
-					backBufferGraphics.drawRect(spriteEntity.getPositionX() + i * 2, spriteEntity.getPositionY()
+	/**
+	 * Draws a sprite on a given graphics context instead of the back buffer.
+	 *
+	 * @param target
+	 *            Graphics context to draw on.
+	 * @param spriteEntity
+	 *            Sprite to draw.
+	 */
+	public void drawSpriteEntity(final Graphics target, final SpriteEntity spriteEntity) {
+		SpriteMask image = spriteMap.get(spriteEntity.getSpriteType());
+
+		target.setColor(spriteEntity.getColor());
+		for (int i = 0; i < image.width(); i++)
+			for (int j = 0; j < image.height(); j++)
+				if (image.isSet(i, j))
+					target.drawRect(spriteEntity.getPositionX() + i * 2, spriteEntity.getPositionY()
 							+ j * 2, 1, 1);
 	}
 
@@ -331,113 +535,54 @@ public final class Renderer {
 	}
 
 
-	//Drawing an Entity (Blocker) that requires angle setting
-	public void drawBlockerEntity(final Blocker blocker) {
-		Graphics2D g2d = (Graphics2D) backBufferGraphics; // Convert to Graphics2D
-		AffineTransform oldTransform = g2d.getTransform(); // Save previous conversion
-
-		//Set center point to rotate
-		int centerX = blocker.getPositionX() + blocker.getWidth() / 2;
-		int centerY = blocker.getPositionY() + blocker.getHeight() / 2;
-
-		//rotate by a given angle
-		g2d.rotate(Math.toRadians(blocker.getAngle()), centerX, centerY);
-
-		//Drawing entities
-		drawSpriteEntity(blocker);
-
-		g2d.setTransform(oldTransform); // Restore to original conversion state
-	}
-
-	public void drawSpriteEntity(final SpriteEntity spriteEntity, final int screenGap) {
-		boolean[][] image = spriteMap.get(spriteEntity.getSpriteType());
-
-		backBufferGraphics.setColor(spriteEntity.getColor());
-		for (int i = 0; i < image.length; i++)
-			for (int j = 0; j < image[i].length; j++)
-				if (image[i][j])
-					backBufferGraphics.drawRect(spriteEntity.getPositionX() + screenGap + i * 2, spriteEntity.getPositionY()
-							+ j * 2, 1, 1);
-	}
-
-	public void drawTextEntity(final TextEntity textEntity, final int screenGap){
-		backBufferGraphics.setColor(textEntity.getColor());
-		backBufferGraphics.setFont(textEntity.getFont());
-		backBufferGraphics.drawString(textEntity.getText(), textEntity.getPositionX() + screenGap, textEntity.getPositionY());
-	}
-
-
-	public void drawImageEntity(final ImageEntity imageEntity, final int screenGap){
-		backBufferGraphics.setColor(imageEntity.getColor());
-		backBufferGraphics.drawImage(imageEntity.getImage(), imageEntity.getPositionX() + screenGap, imageEntity.getPositionY()
-				, imageEntity.getWidth(), imageEntity.getHeight(), null);
-
-	}
-
-	public void drawLineEntity(final LineEntity lineEntity, final int screenGap){
-		backBufferGraphics.setColor(lineEntity.getColor());
-		backBufferGraphics.drawLine(lineEntity.getPositionX() + screenGap, lineEntity.getPositionY()
-				, lineEntity.getPositionX2() + screenGap, lineEntity.getPositionY2());
-	}
-
-	public void drawFillArcEntity(final ArcEntity arcEntity, final int screenGap){
-		backBufferGraphics.setColor(arcEntity.getColor());
-		backBufferGraphics.fillArc(arcEntity.getPositionX() + screenGap, arcEntity.getPositionY(),
-				arcEntity.getWidth(), arcEntity.getHeight(), arcEntity.getStartAngle(), arcEntity.getEndAngle());
-	}
-
-	public void drawRectEntity(final RectEntity rectEntity, final int screenGap){
-		backBufferGraphics.setColor(rectEntity.getColor());
-		if (rectEntity.getIsFilled())
-			backBufferGraphics.fillRect(rectEntity.getPositionX() + screenGap, rectEntity.getPositionY(),
-					rectEntity.getWidth(), rectEntity.getHeight());
-		else
-			backBufferGraphics.drawRect(rectEntity.getPositionX() + screenGap, rectEntity.getPositionY(),
-					rectEntity.getWidth(), rectEntity.getHeight());
-	}
-
-	public void drawFillPolygonEntity(final PolygonEntity polygonEntity, final int screenGap){
-		backBufferGraphics.setColor(polygonEntity.getColor());
-		backBufferGraphics.fillPolygon(addOffsetToArrayWithStream(polygonEntity.getXPoints(), screenGap), polygonEntity.getYPoints(), polygonEntity.getNPoints());
-	}
 
-	// to use drawFillPolygonEntity
-	public int[] addOffsetToArrayWithStream(int[] array, int offset) {
-		return Arrays.stream(array) // create array stream
-				.map(value -> value + offset) // apply offset
-				.toArray(); // transform to array
+	/**
+	 * Renders every rotation of the blocker sprites in the background, so
+	 * the first turn of a blocker doesn't render its frames while drawing.
+	 */
+	public void prewarmBlockerRotations() {
+		Thread prewarmThread = new Thread(() -> {
+			for (SpriteType spriteType : new SpriteType[] {SpriteType.BLOCKER_1, SpriteType.BLOCKER_2})
+				rotatedSpriteCache.prewarm(spriteType, spriteMap.get(spriteType),
+						Blocker.COLOR, Blocker.WIDTH, Blocker.HEIGHT);
+		}, "blocker-prewarm");
+		prewarmThread.setDaemon(true);
+		prewarmThread.setPriority(Thread.MIN_PRIORITY);
+		prewarmThread.start();
 	}
 
-
 	//Drawing an Entity (Blocker) that requires angle setting
-	public void drawBlockerEntity(final Blocker blocker, final int screenGap) {
-		Graphics2D g2d = (Graphics2D) backBufferGraphics; // Convert to Graphics2D
-		AffineTransform oldTransform = g2d.getTransform(); // Save previous conversion
-
+	public void drawBlockerEntity(final Blocker blocker) {
 		//Set center point to rotate
-		int centerX = blocker.getPositionX() + screenGap + blocker.getWidth() / 2;
+		int centerX = blocker.getPositionX() + blocker.getWidth() / 2;
 		int centerY = blocker.getPositionY() + blocker.getHeight() / 2;
 
-		//rotate by a given angle
-		g2d.rotate(Math.toRadians(blocker.getAngle()), centerX, centerY);
-
-		//Drawing entities
-		drawSpriteEntity(blocker);
-
-		g2d.setTransform(oldTransform); // Restore to original conversion state
+		//Draw the prerendered frame closest to the angle
+		RotatedSpriteCache.Frame rotated = rotatedSpriteCache.getFrame(blocker.getSpriteType(),
+				spriteMap.get(blocker.getSpriteType()), blocker.getColor(),
+				blocker.getWidth(), blocker.getHeight(), blocker.getAngle());
+		backBufferGraphics.drawImage(rotated.image(), centerX + rotated.offsetX(),
+				centerY + rotated.offsetY(), null);
 	}
 
 
 
 	/**
-	 * Draws a thick line from side to side of the screen.
+	 * Draws the borders between viewports.
 	 *
-	 * @param screen
-	 *            Screen to draw on.
+	 * @param viewports
+	 *            Viewports sharing the screen.
 	 */
-	public void drawVerticalLine(final Screen screen) {
+	public void drawViewportBorders(final List<Viewport> viewports) {
 		backBufferGraphics.setColor(Color.GREEN);
-		backBufferGraphics.drawLine(screen.getWidth() /2  ,0,screen.getWidth() / 2,screen.getHeight());
+		for (Viewport viewport : viewports) {
+			if (viewport.x() > 0)
+				backBufferGraphics.drawLine(viewport.x() - Viewport.BORDER_WIDTH, viewport.y(),
+						viewport.x() - Viewport.BORDER_WIDTH, viewport.y() + viewport.height() - 1);
+			if (viewport.y() > 0)
+				backBufferGraphics.drawLine(viewport.x(), viewport.y() - Viewport.BORDER_WIDTH,
+						viewport.x() + viewport.width() - 1, viewport.y() - Viewport.BORDER_WIDTH);
+		}
 	}
 
 }
@@ -0,0 +1,353 @@
+package engine;
+
+import entity.Ship;
+import entity.Wallet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Records the key state of every frame of a single player session, and plays
+ * it back bit-exactly. The key state is copied once per frame, and the game
+ * reads only that copy, so key events arriving during a frame never change it.
+ * <p>
+ * A recording starts with a header holding the random seed, the game settings
+ * and the wallet upgrade levels. Each frame then stores the frame duration and
+ * the keys that changed since the previous frame, as variable length integers.
+ */
+public final class ReplayManager {
+
+	/** Singleton instance of the class. */
+	private static ReplayManager instance;
+
+	/** File signature, "INVR". */
+	private static final int MAGIC = 0x494E5652;
+	/** Recording format version, raised when recorded games would replay differently. */
+	private static final int VERSION = 2;
+
+	/** What the manager is doing with the frames. */
+	public enum Mode {
+		/** Frames come from the keyboard and the wall clock. */
+		LIVE,
+		/** Frames are played and written to a file. */
+		RECORDING,
+		/** Frames are read from a file. */
+		REPLAYING
+	}
+
+	/** Application logger. */
+	private final Logger logger;
+	/** Shared clock, advanced once per frame. */
+	private final GameClock clock;
+	/** Shared input manager, copied on every live or recorded frame. */
+	private final InputManager inputManager;
+
+	/** Current mode. */
+	private Mode mode;
+	/** Recording output. */
+	private DataOutputStream output;
+	/** Replay input. */
+	private DataInputStream input;
+	/** Key state of the current frame. */
+	private final boolean[] frameKeys;
+	/** Key state written in the previous recorded frame. */
+	private final boolean[] previousKeys;
+	/** Checks if the replay skips drawing. */
+	private boolean isHeadless;
+	/** Checks if the replay ran out of frames. */
+	private boolean isFinished;
+	/** Number of frames recorded or replayed. */
+	private long frameCount;
+
+	/**
+	 * Private constructor.
+	 */
+	private ReplayManager() {
+		this.logger = Core.getLogger();
+		this.clock = GameClock.getInstance();
+		this.inputManager = InputManager.getInstance();
+		this.frameKeys = new boolean[InputManager.NUM_KEYS];
+		this.previousKeys = new boolean[InputManager.NUM_KEYS];
+		this.mode = Mode.LIVE;
+	}
+
+	/**
+	 * Returns shared instance of ReplayManager.
+	 *
+	 * @return Shared instance of ReplayManager.
+	 */
+	public static ReplayManager getInstance() {
+		if (instance == null)
+			instance = new ReplayManager();
+		return instance;
+	}
+
+	/**
+	 * Starts writing every frame to a file. The random generator is reseeded
+	 * so the seed can be stored in the header.
+	 *
+	 * @param path
+	 *            File to write.
+	 * @param gameSettings
+	 *            Settings of the recorded game.
+	 * @throws IOException
+	 *             In case of writing problems.
+	 */
+	public void startRecording(final Path path, final GameSettings gameSettings) throws IOException {
+		long seed = System.nanoTime();
+		GameRandom.getInstance().setSeed(seed);
+		Wallet wallet = Wallet.getWallet();
+
+		this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+		this.output.writeInt(MAGIC);
+		this.output.writeByte(VERSION);
+		this.output.writeLong(seed);
+		this.output.writeByte(gameSettings.difficulty());
+		this.output.writeByte(gameSettings.shipType().ordinal());
+		this.output.writeByte(gameSettings.maxLives());
+		this.output.writeByte(wallet.getBulletLevel());
+		this.output.writeByte(wallet.getShootLevel());
+		this.output.writeByte(wallet.getLivesLevel());
+		this.output.writeByte(wallet.getCoinLevel());
+
+		for (int i = 0; i < this.previousKeys.length; i++)
+			this.previousKeys[i] = false;
+		this.frameCount = 0;
+		this.mode = Mode.RECORDING;
+		this.logger.info("Recording session to " + path + " with seed " + seed);
+	}
+
+	/**
+	 * Stops recording and closes the file.
+	 */
+	public void stopRecording() {
+		if (this.mode != Mode.RECORDING)
+			return;
+		try {
+			this.output.close();
+		} catch (IOException e) {
+			this.logger.warning("Couldn't close the recording!");
+		}
+		this.output = null;
+		this.mode = Mode.LIVE;
+		this.logger.info("Recorded " + this.frameCount + " frames.");
+	}
+
+	/**
+	 * Starts feeding frames from a recording. The clock switches to fixed
+	 * steps and keyboard events are ignored until the replay ends.
+	 *
+	 * @param path
+	 *            File to read.
+	 * @param isHeadless
+	 *            True to skip drawing, so the replay runs as fast as possible.
+	 * @return Settings of the recorded game.
+	 * @throws IOException
+	 *             In case of loading problems or an unknown format.
+	 */
+	public GameSettings startReplay(final Path path, final boolean isHeadless) throws IOException {
+		this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+		if (this.input.readInt() != MAGIC || this.input.readByte() != VERSION) {
+			this.input.close();
+			throw new IOException("Unknown recording format.");
+		}
+
+		long seed = this.input.readLong();
+		int difficulty = this.input.readByte();
+		Ship.ShipType shipType = Ship.ShipType.values()[this.input.readByte()];
+		int maxLives = this.input.readByte();
+		Wallet.getWallet().restoreLevels(this.input.readByte(), this.input.readByte(),
+				this.input.readByte(), this.input.readByte());
+
+		GameRandom.getInstance().setSeed(seed);
+		this.clock.setMode(GameClock.Mode.FIXED_STEP);
+		this.inputManager.setReplaying(true);
+		Arrays.fill(this.frameKeys, false);
+		this.isHeadless = isHeadless;
+		this.isFinished = false;
+		this.frameCount = 0;
+		this.mode = Mode.REPLAYING;
+		this.logger.info("Replaying session from " + path + " with seed " + seed);
+
+		return new GameSettings(difficulty, shipType, maxLives, false);
+	}
+
+	/**
+	 * Stops replaying and gives control back to the keyboard and the wall clock.
+	 */
+	public void stopReplay() {
+		if (this.mode != Mode.REPLAYING)
+			return;
+		try {
+			this.input.close();
+		} catch (IOException e) {
+			this.logger.warning("Couldn't close the recording!");
+		}
+		this.input = null;
+		this.inputManager.setReplaying(false);
+		this.clock.setMode(GameClock.Mode.REAL_TIME);
+		this.mode = Mode.LIVE;
+		this.logger.info("Replayed " + this.frameCount + " frames.");
+	}
+
+	/**
+	 * Advances the clock to the next frame, and copies, records or replays the
+	 * key state of that frame.
+	 *
+	 * @param frameMillis
+	 *            Duration of one frame of the running screen.
+	 * @return False when the replay has no frames left.
+	 */
+	public boolean advanceFrame(final int frameMillis) {
+		switch (this.mode) {
+			case RECORDING -> {
+				this.inputManager.copyKeys(this.frameKeys);
+				long previousTime = this.clock.now();
+				this.clock.tick(frameMillis);
+				try {
+					writeFrame((int) (this.clock.now() - previousTime));
+				} catch (IOException e) {
+					this.logger.warning("Couldn't write the recording, recording stopped!");
+					stopRecording();
+				}
+			}
+			case REPLAYING -> {
+				if (this.isFinished)
+					return false;
+				try {
+					this.clock.tick(readFrame());
+				} catch (EOFException e) {
+					this.isFinished = true;
+					return false;
+				} catch (IOException e) {
+					this.logger.warning("Couldn't read the recording, replay stopped!");
+					this.isFinished = true;
+					return false;
+				}
+			}
+			default -> {
+				this.inputManager.copyKeys(this.frameKeys);
+				this.clock.tick(frameMillis);
+			}
+		}
+		this.frameCount++;
+		return true;
+	}
+
+	/**
+	 * Writes the duration and the changed keys of one frame.
+	 *
+	 * @param frameMillis
+	 *            Time the clock advanced in this frame.
+	 * @throws IOException
+	 *             In case of writing problems.
+	 */
+	private void writeFrame(final int frameMillis) throws IOException {
+		int changed = 0;
+		for (int keyCode = 0; keyCode < this.previousKeys.length; keyCode++)
+			if (this.frameKeys[keyCode] != this.previousKeys[keyCode])
+				changed++;
+
+		writeVarInt(frameMillis);
+		writeVarInt(changed);
+		for (int keyCode = 0; keyCode < this.previousKeys.length; keyCode++) {
+			boolean isDown = this.frameKeys[keyCode];
+			if (isDown != this.previousKeys[keyCode]) {
+				this.output.writeByte(keyCode);
+				this.previousKeys[keyCode] = isDown;
+			}
+		}
+	}
+
+	/**
+	 * Reads one frame and applies its key changes.
+	 *
+	 * @return Time the clock advanced in this frame.
+	 * @throws IOException
+	 *             In case of loading problems, EOFException after the last frame.
+	 */
+	private int readFrame() throws IOException {
+		int frameMillis = readVarInt();
+		int changed = readVarInt();
+		for (int i = 0; i < changed; i++) {
+			int keyCode = this.input.readUnsignedByte();
+			this.frameKeys[keyCode] = !this.frameKeys[keyCode];
+		}
+		return frameMillis;
+	}
+
+	private void writeVarInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			this.output.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		this.output.writeByte(value);
+	}
+
+	private int readVarInt() throws IOException {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = this.input.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+
+	/**
+	 * Returns true if the provided key is pressed in the current frame.
+	 *
+	 * @param keyCode
+	 *            Key number to check.
+	 * @return Key state of the current frame.
+	 */
+	public boolean isKeyDown(final int keyCode) {
+		return this.frameKeys[keyCode];
+	}
+
+	/**
+	 * Getter for the current mode.
+	 *
+	 * @return Current mode.
+	 */
+	public Mode getMode() {
+		return this.mode;
+	}
+
+	/**
+	 * Checks if a replay is running and drawing is skipped.
+	 *
+	 * @return True when frames should not be drawn.
+	 */
+	public boolean isHeadless() {
+		return this.mode == Mode.REPLAYING && this.isHeadless;
+	}
+
+	/**
+	 * Checks if the replay ran out of frames.
+	 *
+	 * @return True after the last recorded frame was played.
+	 */
+	public boolean isFinished() {
+		return this.isFinished;
+	}
+
+	/**
+	 * Getter for the number of frames recorded or replayed since the start.
+	 *
+	 * @return Number of frames.
+	 */
+	public long getFrameCount() {
+		return this.frameCount;
+	}
+}
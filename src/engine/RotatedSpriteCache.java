@@ -0,0 +1,165 @@
+package engine;
+
+import engine.Renderer.SpriteType;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps sprites prerendered at fixed rotation steps, so a rotating sprite is
+ * drawn with a single image copy. Frames are rendered the first time they are
+ * needed, or all at once by prewarm.
+ */
+final class RotatedSpriteCache {
+
+	/** Number of rotation steps in a full turn. */
+	static final int ROTATION_STEPS = 360;
+
+	/** Prerendered sprite at one rotation step. */
+	record Frame(BufferedImage image, int offsetX, int offsetY) { }
+
+	/** Sprite, color and entity size the frames are rendered for. */
+	private record Key(SpriteType spriteType, int rgb, int width, int height) { }
+
+	/** Frames of each rotated sprite, by rotation step. */
+	private final Map<Key, AtomicReferenceArray<Frame>> frames = new ConcurrentHashMap<>();
+	/** Sprites already prewarmed or being prewarmed. */
+	private final Set<Key> prewarmed = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Gets the frame closest to an angle, rendering it if needed.
+	 *
+	 * @param spriteType
+	 *            Sprite type.
+	 * @param sprite
+	 *            Sprite pixels.
+	 * @param color
+	 *            Sprite color.
+	 * @param width
+	 *            Width of the entity, the sprite rotates around its center.
+	 * @param height
+	 *            Height of the entity.
+	 * @param angle
+	 *            Rotation in degrees.
+	 * @return Frame to draw, offset from the center of the entity.
+	 */
+	Frame getFrame(final SpriteType spriteType, final SpriteMask sprite, final Color color,
+			final int width, final int height, final double angle) {
+		AtomicReferenceArray<Frame> steps = getSteps(spriteType, color, width, height);
+		int step = Math.floorMod((int) Math.round(angle * ROTATION_STEPS / 360), ROTATION_STEPS);
+
+		Frame frame = steps.get(step);
+		if (frame == null) {
+			frame = render(sprite, color, width, height, step);
+			if (!steps.compareAndSet(step, null, frame))
+				frame = steps.get(step);
+		}
+		return frame;
+	}
+
+	/**
+	 * Renders every rotation step of a sprite that isn't rendered yet. Does
+	 * nothing if the sprite was already prewarmed.
+	 *
+	 * @param spriteType
+	 *            Sprite type.
+	 * @param sprite
+	 *            Sprite pixels.
+	 * @param color
+	 *            Sprite color.
+	 * @param width
+	 *            Width of the entity.
+	 * @param height
+	 *            Height of the entity.
+	 */
+	void prewarm(final SpriteType spriteType, final SpriteMask sprite, final Color color,
+			final int width, final int height) {
+		if (!prewarmed.add(new Key(spriteType, color.getRGB(), width, height)))
+			return;
+		AtomicReferenceArray<Frame> steps = getSteps(spriteType, color, width, height);
+		for (int step = 0; step < ROTATION_STEPS; step++)
+			if (steps.get(step) == null)
+				steps.compareAndSet(step, null, render(sprite, color, width, height, step));
+	}
+
+	private AtomicReferenceArray<Frame> getSteps(final SpriteType spriteType, final Color color,
+			final int width, final int height) {
+		return frames.computeIfAbsent(new Key(spriteType, color.getRGB(), width, height),
+				key -> new AtomicReferenceArray<>(ROTATION_STEPS));
+	}
+
+	/**
+	 * Renders a sprite at one rotation step, the same way the renderer draws
+	 * it with a rotated transform: each sprite pixel covers two by two screen
+	 * pixels and the sprite turns around the center of the entity.
+	 */
+	private static Frame render(final SpriteMask sprite, final Color color,
+			final int width, final int height, final int step) {
+		int spriteWidth = sprite.width() * 2;
+		int spriteHeight = sprite.height() * 2;
+
+		AffineTransform transform = AffineTransform.getRotateInstance(
+				Math.toRadians(step * 360.0 / ROTATION_STEPS));
+		transform.translate(-(width / 2), -(height / 2));
+
+		// Bounds of the rotated sprite, relative to the center of the entity.
+		double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+		for (int[] corner : new int[][] {{0, 0}, {spriteWidth, 0}, {0, spriteHeight}, {spriteWidth, spriteHeight}}) {
+			Point2D point = transform.transform(new Point2D.Double(corner[0], corner[1]), null);
+			minX = Math.min(minX, point.getX());
+			minY = Math.min(minY, point.getY());
+			maxX = Math.max(maxX, point.getX());
+			maxY = Math.max(maxY, point.getY());
+		}
+		int offsetX = (int) Math.floor(minX);
+		int offsetY = (int) Math.floor(minY);
+		int frameWidth = Math.max((int) Math.ceil(maxX) - offsetX, 1);
+		int frameHeight = Math.max((int) Math.ceil(maxY) - offsetY, 1);
+
+		BufferedImage unrotated = new BufferedImage(Math.max(spriteWidth, 1), Math.max(spriteHeight, 1),
+				BufferedImage.TYPE_INT_ARGB);
+		for (int i = 0; i < sprite.width(); i++)
+			for (int j = 0; j < sprite.height(); j++)
+				if (sprite.isSet(i, j)) {
+					unrotated.setRGB(i * 2, j * 2, 0xFF000000);
+					unrotated.setRGB(i * 2 + 1, j * 2, 0xFF000000);
+					unrotated.setRGB(i * 2, j * 2 + 1, 0xFF000000);
+					unrotated.setRGB(i * 2 + 1, j * 2 + 1, 0xFF000000);
+				}
+
+		BufferedImage rotated = new BufferedImage(frameWidth, frameHeight, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics = rotated.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+				RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+		AffineTransform placed = AffineTransform.getTranslateInstance(-offsetX, -offsetY);
+		placed.concatenate(transform);
+		graphics.drawImage(unrotated, placed, null);
+		graphics.dispose();
+
+		// One bit per pixel keeps a full turn of a large sprite small in memory.
+		IndexColorModel colorModel = new IndexColorModel(1, 2,
+				new byte[] {0, (byte) color.getRed()},
+				new byte[] {0, (byte) color.getGreen()},
+				new byte[] {0, (byte) color.getBlue()}, 0);
+		BufferedImage image = new BufferedImage(frameWidth, frameHeight,
+				BufferedImage.TYPE_BYTE_BINARY, colorModel);
+		WritableRaster raster = image.getRaster();
+		for (int y = 0; y < frameHeight; y++)
+			for (int x = 0; x < frameWidth; x++)
+				if ((rotated.getRGB(x, y) >>> 24) != 0)
+					raster.setSample(x, y, 0, 1);
+
+		return new Frame(image, offsetX, offsetY);
+	}
+}
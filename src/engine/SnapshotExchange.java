@@ -0,0 +1,116 @@
+package engine;
+
+import entity.Entity;
+import entity.ImageEntity;
+
+import java.awt.Image;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands frames from the thread that updates a game to the thread that draws
+ * it, without locks. Three snapshots rotate between them: the updating
+ * thread fills its own, then swaps it with the shared one; the drawing
+ * thread swaps its own with the shared one when a newer frame is there. No
+ * snapshot is ever written while it is being drawn.
+ *
+ * Only one thread may publish and only one thread may take frames. At most
+ * one frame waits between them, an older frame not taken yet is replaced.
+ */
+public final class SnapshotExchange {
+
+	/** Bit of the shared slot set when it holds a frame not taken yet. */
+	private static final int FRESH = 4;
+	/** Bits of the shared slot holding the snapshot index. */
+	private static final int INDEX_MASK = 3;
+
+	/** The three snapshots. */
+	private final RenderSnapshot[] snapshots = {
+			new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot() };
+	/** Index of the shared snapshot, with the fresh bit. */
+	private final AtomicInteger shared = new AtomicInteger(0);
+	/** Index of the snapshot owned by the updating thread. */
+	private int back = 1;
+	/** Index of the snapshot owned by the drawing thread. */
+	private int front = 2;
+	/** Whether the drawing thread has taken any frame yet. */
+	private boolean hasFrame;
+	/** Drawing thread waiting for a frame, null when it isn't waiting. */
+	private volatile Thread waiter;
+
+	/**
+	 * Publishes a frame. Called from the updating thread only.
+	 *
+	 * @param entities
+	 *            Entities of the frame.
+	 */
+	public void publish(final List<Entity> entities) {
+		snapshots[back].capture(entities);
+		back = shared.getAndSet(back | FRESH) & INDEX_MASK;
+
+		Thread waiting = waiter;
+		if (waiting != null)
+			LockSupport.unpark(waiting);
+	}
+
+	/**
+	 * Checks if a published frame draws an image, as the frame waiting for
+	 * the drawing thread or the one it draws may. Called from the updating
+	 * thread only, the only one changing the snapshots.
+	 *
+	 * @param image
+	 *            Image to look for.
+	 * @return True if a published frame still draws the image.
+	 */
+	public boolean isDrawing(final Image image) {
+		for (int i = 0; i < snapshots.length; i++) {
+			if (i == back)
+				continue;
+			for (Entity entity : snapshots[i].getEntities())
+				if (entity instanceof ImageEntity imageEntity && imageEntity.getImage() == image)
+					return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the newest published frame. Called from the drawing thread only.
+	 * The snapshot stays untouched until the next call.
+	 *
+	 * @return Newest frame, or null if none was published yet.
+	 */
+	public RenderSnapshot latest() {
+		if ((shared.get() & FRESH) != 0) {
+			front = shared.getAndSet(front) & INDEX_MASK;
+			hasFrame = true;
+		}
+		return hasFrame ? snapshots[front] : null;
+	}
+
+	/**
+	 * Waits until a frame not taken yet is published, then takes it. Called
+	 * from the drawing thread only.
+	 *
+	 * @param timeoutMillis
+	 *            Longest time to wait, in milliseconds.
+	 * @return Newest frame, or null if none came in time or the thread was
+	 *         interrupted.
+	 */
+	public RenderSnapshot awaitNewer(final long timeoutMillis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		waiter = Thread.currentThread();
+		try {
+			while ((shared.get() & FRESH) == 0) {
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0 || Thread.currentThread().isInterrupted())
+					return null;
+				LockSupport.parkNanos(this, remaining);
+			}
+		} finally {
+			waiter = null;
+		}
+		return latest();
+	}
+}
@@ -0,0 +1,214 @@
+package engine;
+
+import engine.Renderer.SpriteType;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary sprite atlas, compiled at build time from the graphics text file.
+ * The atlas starts with an index naming each sprite type with its size and
+ * the position of its bits, followed by the bits of every sprite as packed
+ * by SpriteMask. It is read with a single bulk read.
+ */
+public final class SpriteAtlas {
+
+	/** Resource name of the compiled atlas. */
+	public static final String RESOURCE = "sprites.atlas";
+	/** Resource name of the graphics text file the atlas is compiled from. */
+	public static final String GRAPHICS_RESOURCE = "graphics";
+
+	/** First bytes of an atlas, "INVS". */
+	private static final int MAGIC = 0x494E5653;
+	/** Version of the atlas format. */
+	private static final int VERSION = 1;
+
+	/** Sprite type and size of an entry of the graphics text file. */
+	private record Layout(SpriteType spriteType, int width, int height) { }
+
+	/** Sprites of the graphics text file, in the order they appear in it. */
+	private static final List<Layout> GRAPHICS_LAYOUT = List.of(
+			new Layout(SpriteType.SHIP, 13, 8),
+			new Layout(SpriteType.SHIP_DESTROYED, 13, 8),
+			new Layout(SpriteType.BULLET_TYPE_1, 3, 5),
+			new Layout(SpriteType.BULLET_TYPE_2, 3, 5),
+			new Layout(SpriteType.BULLET_TYPE_3, 3, 5),
+			new Layout(SpriteType.BULLET_TYPE_4, 3, 5),
+			new Layout(SpriteType.ENEMY_BULLET, 3, 5),
+			new Layout(SpriteType.ENEMY_SHIP_A1, 12, 8),
+			new Layout(SpriteType.ENEMY_SHIP_A2, 12, 8),
+			new Layout(SpriteType.ENEMY_SHIP_B1, 12, 8),
+			new Layout(SpriteType.ENEMY_SHIP_B2, 12, 8),
+			new Layout(SpriteType.ENEMY_SHIP_C1, 12, 8),
+			new Layout(SpriteType.ENEMY_SHIP_C2, 12, 8),
+			new Layout(SpriteType.ENEMY_SHIP_SPECIAL, 16, 7),
+			new Layout(SpriteType.EXPLOSION, 13, 7),
+			new Layout(SpriteType.BARRIER, 39, 11),
+			new Layout(SpriteType.ITEM_BOX, 7, 7),
+			new Layout(SpriteType.WEB, 12, 8),
+			new Layout(SpriteType.BLOCK, 20, 7),
+			new Layout(SpriteType.BLOCKER_1, 182, 93), // artificial satellite
+			new Layout(SpriteType.BLOCKER_2, 82, 81), // astronaut
+			new Layout(SpriteType.SHIP_2, 13, 8),
+			new Layout(SpriteType.SHIP_3, 13, 8),
+			new Layout(SpriteType.SHIP_4, 13, 8),
+			new Layout(SpriteType.ENEMY_SHIP_D1, 12, 8),
+			new Layout(SpriteType.ENEMY_SHIP_D2, 12, 8),
+			new Layout(SpriteType.ENEMY_SHIP_E1, 12, 8),
+			new Layout(SpriteType.ENEMY_SHIP_E2, 12, 8),
+			new Layout(SpriteType.ENEMY_SHIP_F1, 16, 7),
+			new Layout(SpriteType.ENEMY_SHIP_F2, 16, 7));
+
+	/**
+	 * Private constructor.
+	 */
+	private SpriteAtlas() {
+	}
+
+	/**
+	 * Compiles the graphics text file into an atlas, run by the build.
+	 *
+	 * @param args
+	 *            Path of the graphics text file and path of the atlas to
+	 *            write.
+	 * @throws IOException
+	 *             In case of reading or writing problems.
+	 */
+	public static void main(final String[] args) throws IOException {
+		Map<SpriteType, SpriteMask> sprites;
+		try (Reader reader = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+			sprites = parseGraphics(reader);
+		}
+		Path atlas = Path.of(args[1]);
+		if (atlas.getParent() != null)
+			Files.createDirectories(atlas.getParent());
+		try (OutputStream outputStream = Files.newOutputStream(atlas)) {
+			write(sprites, outputStream);
+		}
+	}
+
+	/**
+	 * Parses the graphics text file. Each sprite is a line of 0 and 1 by
+	 * column then row; empty lines and lines starting with # are skipped.
+	 *
+	 * @param graphics
+	 *            Graphics text file.
+	 * @return Sprites by type.
+	 * @throws IOException
+	 *             In case of reading problems or missing sprites.
+	 */
+	public static Map<SpriteType, SpriteMask> parseGraphics(final Reader graphics) throws IOException {
+		BufferedReader reader = new BufferedReader(graphics);
+		Map<SpriteType, SpriteMask> sprites = new EnumMap<>(SpriteType.class);
+		for (Layout layout : GRAPHICS_LAYOUT) {
+			String line;
+			do {
+				line = reader.readLine();
+				if (line == null)
+					throw new IOException("Sprite data not found for " + layout.spriteType() + ".");
+			} while (line.trim().isEmpty() || line.trim().startsWith("#"));
+
+			SpriteMask mask = SpriteMask.empty(layout.width(), layout.height());
+			int idx = 0;
+			for (int i = 0; i < layout.width(); i++)
+				for (int j = 0; j < layout.height(); j++)
+					if (line.charAt(idx++) == '1')
+						mask.set(i, j);
+			sprites.put(layout.spriteType(), mask);
+		}
+		return sprites;
+	}
+
+	/**
+	 * Writes sprites as an atlas.
+	 *
+	 * @param sprites
+	 *            Sprites by type.
+	 * @param outputStream
+	 *            Stream to write to, left open.
+	 * @throws IOException
+	 *             In case of writing problems.
+	 */
+	public static void write(final Map<SpriteType, SpriteMask> sprites, final OutputStream outputStream)
+			throws IOException {
+		DataOutputStream output = new DataOutputStream(outputStream);
+		output.writeInt(MAGIC);
+		output.writeShort(VERSION);
+		output.writeShort(sprites.size());
+
+		int offset = 0;
+		for (Map.Entry<SpriteType, SpriteMask> sprite : sprites.entrySet()) {
+			output.writeUTF(sprite.getKey().name());
+			output.writeShort(sprite.getValue().width());
+			output.writeShort(sprite.getValue().height());
+			output.writeInt(offset);
+			offset += sprite.getValue().bits().length;
+		}
+		output.writeInt(offset);
+		for (SpriteMask mask : sprites.values())
+			for (long word : mask.bits())
+				output.writeLong(word);
+		output.flush();
+	}
+
+	/**
+	 * Reads an atlas. Entries of sprite types that no longer exist are
+	 * skipped.
+	 *
+	 * @param inputStream
+	 *            Stream to read from, left open.
+	 * @return Sprites by type.
+	 * @throws IOException
+	 *             In case of reading problems or an invalid atlas.
+	 */
+	public static Map<SpriteType, SpriteMask> read(final InputStream inputStream) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(inputStream.readAllBytes());
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION)
+				throw new IOException("Not a sprite atlas of version " + VERSION + ".");
+
+			int count = buffer.getShort();
+			String[] names = new String[count];
+			int[] widths = new int[count];
+			int[] heights = new int[count];
+			int[] offsets = new int[count];
+			for (int i = 0; i < count; i++) {
+				byte[] name = new byte[buffer.getShort()];
+				buffer.get(name);
+				names[i] = new String(name, StandardCharsets.UTF_8);
+				widths[i] = buffer.getShort();
+				heights[i] = buffer.getShort();
+				offsets[i] = buffer.getInt();
+			}
+			long[] bits = new long[buffer.getInt()];
+			buffer.asLongBuffer().get(bits);
+
+			Map<SpriteType, SpriteMask> sprites = new EnumMap<>(SpriteType.class);
+			for (int i = 0; i < count; i++) {
+				SpriteType spriteType;
+				try {
+					spriteType = SpriteType.valueOf(names[i]);
+				} catch (IllegalArgumentException e) {
+					continue;
+				}
+				SpriteMask mask = SpriteMask.empty(widths[i], heights[i]);
+				System.arraycopy(bits, offsets[i], mask.bits(), 0, mask.bits().length);
+				sprites.put(spriteType, mask);
+			}
+			return sprites;
+		} catch (RuntimeException e) {
+			throw new IOException("Corrupted sprite atlas.", e);
+		}
+	}
+}
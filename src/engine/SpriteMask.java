@@ -0,0 +1,145 @@
+package engine;
+
+/**
+ * Sprite pixels packed as bits, one row of words per sprite row. Bit i of a
+ * row is set when the pixel at column i is lit.
+ *
+ * @param width
+ *            Width of the sprite, in sprite pixels.
+ * @param height
+ *            Height of the sprite, in sprite pixels.
+ * @param wordsPerRow
+ *            Number of words of each row.
+ * @param bits
+ *            Rows of the sprite, one after another.
+ */
+public record SpriteMask(int width, int height, int wordsPerRow, long[] bits) {
+
+	/**
+	 * Creates an empty mask.
+	 *
+	 * @param width
+	 *            Width of the sprite, in sprite pixels.
+	 * @param height
+	 *            Height of the sprite, in sprite pixels.
+	 * @return Mask with no pixel lit.
+	 */
+	public static SpriteMask empty(final int width, final int height) {
+		int wordsPerRow = (width + Long.SIZE - 1) / Long.SIZE;
+		return new SpriteMask(width, height, wordsPerRow, new long[wordsPerRow * height]);
+	}
+
+	/**
+	 * Packs a sprite into a mask.
+	 *
+	 * @param sprite
+	 *            Sprite pixels, by column then row.
+	 * @return Mask of the sprite.
+	 */
+	public static SpriteMask of(final boolean[][] sprite) {
+		SpriteMask mask = empty(sprite.length, sprite.length == 0 ? 0 : sprite[0].length);
+		for (int i = 0; i < mask.width; i++)
+			for (int j = 0; j < mask.height; j++)
+				if (sprite[i][j])
+					mask.set(i, j);
+		return mask;
+	}
+
+	/**
+	 * Checks if a pixel is lit.
+	 *
+	 * @param column
+	 *            Column of the pixel.
+	 * @param row
+	 *            Row of the pixel.
+	 * @return True when the pixel is lit.
+	 */
+	public boolean isSet(final int column, final int row) {
+		return (this.bits[row * this.wordsPerRow + column / Long.SIZE] & (1L << (column % Long.SIZE))) != 0;
+	}
+
+	/**
+	 * Creates a mask with each pixel covering two by two pixels, the size the
+	 * sprite is drawn at.
+	 *
+	 * @return Doubled mask.
+	 */
+	public SpriteMask doubled() {
+		SpriteMask doubled = empty(this.width * 2, this.height * 2);
+		for (int i = 0; i < this.width; i++)
+			for (int j = 0; j < this.height; j++)
+				if (isSet(i, j)) {
+					doubled.set(i * 2, j * 2);
+					doubled.set(i * 2 + 1, j * 2);
+					doubled.set(i * 2, j * 2 + 1);
+					doubled.set(i * 2 + 1, j * 2 + 1);
+				}
+		return doubled;
+	}
+
+	/**
+	 * Checks if two masks placed at given positions share a lit pixel. Rows
+	 * are compared 64 pixels at a time.
+	 *
+	 * @param a
+	 *            First mask.
+	 * @param ax
+	 *            Position of the first mask in the X axis.
+	 * @param ay
+	 *            Position of the first mask in the Y axis.
+	 * @param b
+	 *            Second mask.
+	 * @param bx
+	 *            Position of the second mask in the X axis.
+	 * @param by
+	 *            Position of the second mask in the Y axis.
+	 * @return True when a pixel is lit in both masks.
+	 */
+	public static boolean overlaps(final SpriteMask a, final int ax, final int ay,
+			final SpriteMask b, final int bx, final int by) {
+		int left = Math.max(ax, bx);
+		int right = Math.min(ax + a.width, bx + b.width);
+		int top = Math.max(ay, by);
+		int bottom = Math.min(ay + a.height, by + b.height);
+
+		for (int y = top; y < bottom; y++)
+			for (int x = left; x < right; x += Long.SIZE) {
+				int span = Math.min(right - x, Long.SIZE);
+				long window = span == Long.SIZE ? -1L : (1L << span) - 1;
+				if ((a.rowBits(y - ay, x - ax) & b.rowBits(y - by, x - bx) & window) != 0)
+					return true;
+			}
+		return false;
+	}
+
+	/**
+	 * Gets 64 pixels of a row, starting at a column.
+	 *
+	 * @param row
+	 *            Row of the pixels.
+	 * @param column
+	 *            First column, bit 0 of the result.
+	 * @return Pixels of the row, pixels past the edge are not lit.
+	 */
+	private long rowBits(final int row, final int column) {
+		int word = column / Long.SIZE;
+		int shift = column % Long.SIZE;
+		int base = row * this.wordsPerRow;
+		long bits = this.bits[base + word] >>> shift;
+		if (shift != 0 && word + 1 < this.wordsPerRow)
+			bits |= this.bits[base + word + 1] << (Long.SIZE - shift);
+		return bits;
+	}
+
+	/**
+	 * Lights a pixel, only used while the sprite is loaded.
+	 *
+	 * @param column
+	 *            Column of the pixel.
+	 * @param row
+	 *            Row of the pixel.
+	 */
+	void set(final int column, final int row) {
+		this.bits[row * this.wordsPerRow + column / Long.SIZE] |= 1L << (column % Long.SIZE);
+	}
+}
@@ -0,0 +1,137 @@
+package engine;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+
+/**
+ * Draws sprites straight into the pixels of an integer RGB image, without
+ * going through Java2D. Each lit bit of a sprite mask is written as a two by
+ * two block, clipped to a rectangle of the image.
+ */
+final class SpriteRasterizer {
+
+	/** Pixels of the image drawn on. */
+	private int[] pixels = new int[0];
+	/** Distance between two rows of the image in the pixel array. */
+	private int scanlineStride;
+	/** Width of the image. */
+	private int surfaceWidth;
+	/** Height of the image. */
+	private int surfaceHeight;
+	/** Position of the drawing origin on the image, in the X axis. */
+	private int originX;
+	/** Position of the drawing origin on the image, in the Y axis. */
+	private int originY;
+	/** Left edge of the clip, included. */
+	private int clipLeft;
+	/** Top edge of the clip, included. */
+	private int clipTop;
+	/** Right edge of the clip, excluded. */
+	private int clipRight;
+	/** Bottom edge of the clip, excluded. */
+	private int clipBottom;
+
+	/**
+	 * Starts drawing on an image, with the origin on its top left corner and
+	 * no clip.
+	 *
+	 * @param image
+	 *            Image of type TYPE_INT_RGB or TYPE_INT_ARGB.
+	 */
+	void setSurface(final BufferedImage image) {
+		this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		this.scanlineStride = ((SinglePixelPackedSampleModel) image.getSampleModel()).getScanlineStride();
+		this.surfaceWidth = image.getWidth();
+		this.surfaceHeight = image.getHeight();
+		setOrigin(0, 0);
+		resetClip();
+	}
+
+	/**
+	 * Moves the drawing origin, sprite positions are relative to it.
+	 *
+	 * @param x
+	 *            Position of the origin on the image, in the X axis.
+	 * @param y
+	 *            Position of the origin on the image, in the Y axis.
+	 */
+	void setOrigin(final int x, final int y) {
+		this.originX = x;
+		this.originY = y;
+	}
+
+	/**
+	 * Limits drawing to a rectangle of the image.
+	 *
+	 * @param x
+	 *            Left edge of the rectangle on the image.
+	 * @param y
+	 *            Top edge of the rectangle on the image.
+	 * @param width
+	 *            Width of the rectangle.
+	 * @param height
+	 *            Height of the rectangle.
+	 */
+	void setClip(final int x, final int y, final int width, final int height) {
+		this.clipLeft = Math.max(x, 0);
+		this.clipTop = Math.max(y, 0);
+		this.clipRight = Math.min(x + width, this.surfaceWidth);
+		this.clipBottom = Math.min(y + height, this.surfaceHeight);
+	}
+
+	/**
+	 * Lets drawing cover the whole image again.
+	 */
+	void resetClip() {
+		setClip(0, 0, this.surfaceWidth, this.surfaceHeight);
+	}
+
+	/**
+	 * Draws a sprite, each sprite pixel covering two by two image pixels.
+	 *
+	 * @param mask
+	 *            Sprite to draw.
+	 * @param x
+	 *            Position of the sprite from the origin, in the X axis.
+	 * @param y
+	 *            Position of the sprite from the origin, in the Y axis.
+	 * @param rgb
+	 *            Color of the sprite.
+	 */
+	void drawSprite(final SpriteMask mask, final int x, final int y, final int rgb) {
+		int left = this.originX + x;
+		int top = this.originY + y;
+		if (left >= this.clipRight || top >= this.clipBottom
+				|| left + mask.width() * 2 <= this.clipLeft || top + mask.height() * 2 <= this.clipTop)
+			return;
+
+		int[] pixels = this.pixels;
+		long[] bits = mask.bits();
+		int wordsPerRow = mask.wordsPerRow();
+		for (int j = 0; j < mask.height(); j++) {
+			int rowTop = top + j * 2;
+			int fromY = Math.max(rowTop, this.clipTop);
+			int toY = Math.min(rowTop + 2, this.clipBottom);
+			if (fromY >= toY)
+				continue;
+
+			for (int w = 0; w < wordsPerRow; w++) {
+				long word = bits[j * wordsPerRow + w];
+				while (word != 0) {
+					int i = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+					word &= word - 1;
+
+					int pixelLeft = left + i * 2;
+					int fromX = Math.max(pixelLeft, this.clipLeft);
+					int toX = Math.min(pixelLeft + 2, this.clipRight);
+					for (int py = fromY; py < toY; py++) {
+						int row = py * this.scanlineStride;
+						for (int px = fromX; px < toX; px++)
+							pixels[row + px] = rgb;
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Region of the screen a player's game is drawn in. Entities drawn through a
+ * viewport keep their own coordinates; the renderer translates and clips the
+ * drawing into the region instead.
+ *
+ * @param x
+ *            Left edge of the region.
+ * @param y
+ *            Top edge of the region.
+ * @param width
+ *            Width of the region.
+ * @param height
+ *            Height of the region.
+ */
+public record Viewport(int x, int y, int width, int height) {
+
+	/** Width of the border between two viewports. */
+	public static final int BORDER_WIDTH = 1;
+
+	/**
+	 * Splits the screen into a grid of viewports, as square as possible,
+	 * filled row by row. Every viewport but the first of its row and column
+	 * leaves room for a border before it.
+	 *
+	 * @param screenWidth
+	 *            Width of the screen.
+	 * @param screenHeight
+	 *            Height of the screen.
+	 * @param count
+	 *            Number of viewports.
+	 * @return Viewports, in player order.
+	 */
+	public static List<Viewport> split(final int screenWidth, final int screenHeight, final int count) {
+		int columns = (int) Math.ceil(Math.sqrt(count));
+		int rows = (count + columns - 1) / columns;
+		int cellWidth = screenWidth / columns;
+		int cellHeight = screenHeight / rows;
+
+		List<Viewport> viewports = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int left = i % columns == 0 ? 0 : BORDER_WIDTH;
+			int top = i / columns == 0 ? 0 : BORDER_WIDTH;
+			viewports.add(new Viewport((i % columns) * cellWidth + left, (i / columns) * cellHeight + top,
+					cellWidth - left, cellHeight - top));
+		}
+		return viewports;
+	}
+}
@@ -0,0 +1,70 @@
+package engine;
+
+/**
+ * Wakes idle screens up when something may have changed what they show,
+ * like a key press or a response from the server.
+ */
+public final class WakeSignal {
+
+	/** Singleton instance of the class. */
+	private static WakeSignal instance;
+
+	/** Number of signals raised so far. */
+	private long count;
+
+	/**
+	 * Private constructor.
+	 */
+	private WakeSignal() {
+	}
+
+	/**
+	 * Returns shared instance of WakeSignal.
+	 *
+	 * @return Shared instance of WakeSignal.
+	 */
+	public static synchronized WakeSignal getInstance() {
+		if (instance == null)
+			instance = new WakeSignal();
+		return instance;
+	}
+
+	/**
+	 * Raises the signal, waking every waiting screen.
+	 */
+	public synchronized void signal() {
+		this.count++;
+		notifyAll();
+	}
+
+	/**
+	 * Getter for the number of signals raised so far. Read it before doing a
+	 * frame and pass it to await, so signals raised during the frame are not
+	 * missed.
+	 *
+	 * @return Number of signals.
+	 */
+	public synchronized long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Waits until a signal is raised after the given count, or the timeout
+	 * runs out.
+	 *
+	 * @param since
+	 *            Signal count read before the frame.
+	 * @param timeoutMillis
+	 *            Longest time to wait, in milliseconds.
+	 * @throws InterruptedException
+	 *             If the thread is interrupted while waiting.
+	 */
+	public synchronized void await(final long since, final long timeoutMillis) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		long remaining = timeoutMillis;
+		while (this.count == since && remaining > 0) {
+			wait(remaining);
+			remaining = deadline - System.currentTimeMillis();
+		}
+	}
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import engine.Core;
+import engine.WakeSignal;
 import message.Ping;
 import org.reflections.Reflections;
 import org.slf4j.LoggerFactory;
@@ -13,6 +14,7 @@ import javax.swing.JOptionPane;
 import java.io.*;
 import java.net.Socket;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.logging.Level;
@@ -28,8 +30,10 @@ public final class NetworkManager {
     private ObjectMapper mapper;
     private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
     private final Map<String, EventHandler> eventHandlers = new HashMap<>();
+    private final Map<UUID, EventHandler> requestHandlers = new ConcurrentHashMap<>();
     private long latency = 0L;
     private final Set<UUID> requestSet = new HashSet<>();
+    private volatile boolean connected;
 
     private NetworkManager() {
         mapper = new ObjectMapper();
@@ -49,6 +53,7 @@ public final class NetworkManager {
             socket = new Socket("43.203.229.87", 1105);
             reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
             writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()));
+            connected = true;
 
             executor.execute(this::listen);
             executor.execute(this::trackLatency);
@@ -71,7 +76,19 @@ public final class NetworkManager {
 
     private void dispatch(Event event) {
         requestSet.remove(event.id());
-        eventHandlers.get(event.name()).handle(event);
+        // Responses carry the id of their request, and go to the handler of
+        // that request. Other events go to the handler of their name.
+        EventHandler handler = requestHandlers.remove(event.id());
+        if (handler == null)
+            handler = eventHandlers.get(event.name());
+        if (handler == null) {
+            logger.warning("No handler for the event: " + event.name());
+            return;
+        }
+        handler.handle(event);
+        // Pings don't change anything on screen.
+        if (!event.name().equals("ping"))
+            WakeSignal.getInstance().signal();
     }
 
     private void listen() {
@@ -85,6 +102,7 @@ public final class NetworkManager {
                 }
             }
         } catch (IOException e) {
+            connected = false;
             logger.log(Level.WARNING, e.getMessage(), e);
             logger.log(Level.WARNING, "Packet receive failed", e);
             showErrorPopup("Connection lost. Please try reconnecting.");
@@ -108,7 +126,36 @@ public final class NetworkManager {
     }
 
     public UUID sendEvent(String eventName, Body body) {
-        UUID requestId = UUID.randomUUID();
+        return sendEvent(eventName, body, UUID.randomUUID());
+    }
+
+    /**
+     * Sends an event with a given id, so that the server can recognize an
+     * event sent again and apply it once.
+     *
+     * @param eventName Name of the event.
+     * @param body      Body of the event.
+     * @param requestId Id of the event.
+     * @return Id of the event.
+     */
+    public UUID sendEvent(String eventName, Body body, UUID requestId) {
+        return sendEvent(eventName, body, requestId, null);
+    }
+
+    /**
+     * Sends an event with a given id, its response going to the handler
+     * given, so that responses to requests of the same name can't cross.
+     *
+     * @param eventName Name of the event.
+     * @param body      Body of the event.
+     * @param requestId Id of the event.
+     * @param handler   Handler of the response, null to use the handler of the name.
+     * @return Id of the event.
+     */
+    public UUID sendEvent(String eventName, Body body, UUID requestId, EventHandler handler) {
+        // Registered before sending, as the response may arrive first.
+        if (handler != null)
+            requestHandlers.put(requestId, handler);
         requestSet.add(requestId);
         Event event = new Event(eventName, body, requestId, System.currentTimeMillis());
         executor.execute(() -> {
@@ -125,6 +172,15 @@ public final class NetworkManager {
         return requestId;
     }
 
+    /**
+     * Checks if the connection to the server is up.
+     *
+     * @return True while connected to the server.
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
     public boolean isDone(UUID requestId) {
         return !requestSet.contains(requestId);
     }
@@ -135,6 +191,8 @@ public final class NetworkManager {
 
     public void close() {
         try {
+            connected = false;
+            requestHandlers.clear();
             executor.shutdown();
             if (reader != null) reader.close();
             if (writer != null) writer.close();
@@ -34,4 +34,18 @@ public class ArcEntity extends Entity{
     public EntityType getType() {
         return EntityType.ARC;
     }
+
+    @Override
+    public Rectangle getBounds() {
+        return new Rectangle(positionX, positionY, width + 1, height + 1);
+    }
+
+    @Override
+    public boolean drawsSameAs(final Entity other) {
+        if (!super.drawsSameAs(other))
+            return false;
+        ArcEntity arc = (ArcEntity) other;
+        return arc.width == width && arc.height == height && arc.startAngle == startAngle
+                && arc.endAngle == endAngle && arc.isFilled == isFilled;
+    }
 }
@@ -1,11 +1,24 @@
 package entity;
 
+import engine.GameRandom;
 import engine.Renderer.SpriteType;
 import java.util.Random;
 import java.awt.*;
 
 public class Blocker extends SpriteEntity {
 
+    /** Width of a blocker, the sprite rotates around its center. */
+    public static final int WIDTH = 82 * 2;
+    /** Height of a blocker. */
+    public static final int HEIGHT = 81 * 2;
+    /** Color of a blocker. */
+    public static final Color COLOR = Color.GREEN;
+
+    /** Width of the largest blocker sprite, in pixels. */
+    private static final int MAX_SPRITE_WIDTH = 182 * 2;
+    /** Height of the largest blocker sprite, in pixels. */
+    private static final int MAX_SPRITE_HEIGHT = 93 * 2;
+
     private final Random random;
     /* angle */
     private double angle;
@@ -14,13 +27,27 @@ public class Blocker extends SpriteEntity {
 
     public Blocker(int positionX, int positionY, final SpriteType spriteType, boolean moveLeft) {
         //super(positionX, positionY, 182 * 2, 93 * 2, Color.GREEN);
-        super(positionX, positionY, 82 * 2, 81 * 2, Color.GREEN);
+        super(positionX, positionY, WIDTH, HEIGHT, COLOR);
         this.spriteType = spriteType;
-        this.random = new Random();
+        this.random = GameRandom.getInstance().getRandom();
         angle = 180 * random.nextDouble();
         this.moveLeft = moveLeft;
     }
 
+    /**
+     * Copy constructor, used to draw the blocker from another thread.
+     *
+     * @param blocker
+     *            Blocker to copy.
+     */
+    private Blocker(final Blocker blocker) {
+        super(blocker.positionX, blocker.positionY, blocker.width, blocker.height, blocker.color);
+        this.spriteType = blocker.spriteType;
+        this.random = blocker.random;
+        this.angle = blocker.angle;
+        this.moveLeft = blocker.moveLeft;
+    }
+
     public final void move(final double distanceX, final double distanceY) {
         this.positionX += (int) distanceX;
         this.positionY += (int) distanceY;
@@ -36,4 +63,30 @@ public class Blocker extends SpriteEntity {
     public EntityType getType() {
         return EntityType.BLOCKER;
     }
+
+    /**
+     * The sprite is rotated around the center of the entity and may be larger
+     * than it, so the bounds cover the largest blocker sprite at any angle.
+     */
+    @Override
+    public Rectangle getBounds() {
+        int radius = (int) Math.ceil(Math.hypot(MAX_SPRITE_WIDTH, MAX_SPRITE_HEIGHT));
+        int centerX = positionX + width / 2;
+        int centerY = positionY + height / 2;
+        return new Rectangle(centerX - radius, centerY - radius, radius * 2, radius * 2);
+    }
+
+    @Override
+    public Entity copyForRender(final Entity reuse) {
+        if (!(reuse instanceof Blocker copy))
+            return new Blocker(this);
+        copyDrawingTo(copy);
+        copy.angle = angle;
+        return copy;
+    }
+
+    @Override
+    public boolean drawsSameAs(final Entity other) {
+        return super.drawsSameAs(other) && ((Blocker) other).angle == angle;
+    }
 }
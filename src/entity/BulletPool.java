@@ -1,6 +1,6 @@
 package entity;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -12,7 +12,7 @@ import java.util.Set;
 public final class BulletPool {
 
 	/** Set of already created bullets. */
-	private static final Set<Bullet> pool = new HashSet<>();
+	private static final Set<Bullet> pool = new LinkedHashSet<>();
 
 	/**
 	 * Constructor, not called.
@@ -38,6 +38,10 @@ public class EnemyShip extends SpriteEntity {
 	private final SoundManager soundManager = SoundManager.getInstance();
 
 	private int health;
+	/** Column of the formation slot the ship started in, -1 outside the grid. */
+	private int gridColumn = -1;
+	/** Row of the formation slot the ship started in, -1 outside the grid. */
+	private int gridRow = -1;
 	/**
 	 * Constructor, establishes the ship's properties.
 	 * 
@@ -200,6 +204,37 @@ public class EnemyShip extends SpriteEntity {
         soundManager.playSound(Sound.ALIEN_HIT, balance);
     }
 
+	/**
+	 * Places the ship in a slot of the formation grid.
+	 *
+	 * @param column
+	 *            Column of the slot.
+	 * @param row
+	 *            Row of the slot.
+	 */
+	final void setGridPosition(final int column, final int row) {
+		this.gridColumn = column;
+		this.gridRow = row;
+	}
+
+	/**
+	 * Getter for the column of the ship in the formation grid.
+	 *
+	 * @return Column of the slot, -1 for ships outside the grid.
+	 */
+	public final int getGridColumn() {
+		return this.gridColumn;
+	}
+
+	/**
+	 * Getter for the row of the ship in the formation grid.
+	 *
+	 * @return Row of the slot, -1 for ships outside the grid.
+	 */
+	public final int getGridRow() {
+		return this.gridRow;
+	}
+
 	public int getHealth(){return this.health; }  //Receive enemy ship health
 
 	public void setHealth(int health) {
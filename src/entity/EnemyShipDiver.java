@@ -3,7 +3,6 @@ package entity;
 import engine.*;
 
 import java.awt.*;
-import java.util.Random;
 
 public class EnemyShipDiver extends EnemyShip {
 
@@ -26,7 +25,7 @@ public class EnemyShipDiver extends EnemyShip {
         this.diveCooldown = Core.getVariableCooldown(DIVE_INTERVAL, DIVE_VARIANCE);
         this.diveCooldown.reset();
         this.pointValue = POINTS;
-        this.state = (int)Math.round(new Random().nextDouble(1.0));
+        this.state = (int)Math.round(GameRandom.getInstance().nextDouble());
     }
 
     /**
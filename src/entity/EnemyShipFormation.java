@@ -59,6 +59,10 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private final List<List<EnemyShip>> enemyShipsGrid;
 	/** List of enemy diver ships */
 	private final List<EnemyShipDiver> enemyShipsDivers;
+	/** Ships by their original slot, [column][row]. */
+	private final EnemyShip[][] slots;
+	/** Live ships of the grid, by slot. */
+	private final FormationOccupancy occupancy;
 
 	/** Minimum time between shoots. */
 	private Cooldown shootingCooldown;
@@ -89,12 +93,18 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private int positionX;
 	/** Position in the y-axis of the upper left corner of the formation. */
 	private int positionY;
+	/** Position in the x-axis of the first slot of the grid. */
+	private int gridOriginX;
+	/** Position in the y-axis of the first slot of the grid. */
+	private int gridOriginY;
 	/** Width of one ship. */
 	private final int shipWidth;
 	/** Height of one ship. */
 	private final int shipHeight;
 	/** List of ships that are able to shoot. */
 	private final List<EnemyShip> shooters;
+	/** Position of each column's shooter in the shooters list, -1 when the column has none. */
+	private final int[] shooterIndex;
 	/** Number of not destroyed ships. */
 	private int shipCount;
 
@@ -138,9 +148,14 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 		this.movementSpeed = this.baseSpeed;
 		this.positionX = INIT_POS_X;
 		this.positionY = INIT_POS_Y;
+		this.gridOriginX = INIT_POS_X;
+		this.gridOriginY = INIT_POS_Y;
 		this.shooters = new ArrayList<>();
+		this.shooterIndex = new int[this.formationWidth];
 		this.difficulty = gameSettings.difficulty();
 		this.shipType = gameSettings.shipType();
+		this.slots = new EnemyShip[this.formationWidth][this.formationHeight];
+		this.occupancy = new FormationOccupancy(this.formationWidth, this.formationHeight);
 		SpriteType spriteType;
 
 		this.logger.info("Initializing " + formationWidth + "x" + formationHeight
@@ -163,10 +178,13 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 				else
 					spriteType = SpriteType.ENEMY_SHIP_A1;
 
-				column.add(new EnemyShip((SEPARATION_DISTANCE 
-						* this.enemyShipsGrid.indexOf(column))
-								+ positionX, (SEPARATION_DISTANCE * i)
-								+ positionY, spriteType, gameLevelState, difficulty));
+				int columnIndex = this.enemyShipsGrid.indexOf(column);
+				EnemyShip enemyShip = new EnemyShip((SEPARATION_DISTANCE
+						* columnIndex) + positionX, (SEPARATION_DISTANCE * i)
+								+ positionY, spriteType, gameLevelState, difficulty);
+				column.add(enemyShip);
+				this.slots[columnIndex][i] = enemyShip;
+				enemyShip.setGridPosition(columnIndex, i);
 				this.shipCount++;
 			}
 		}
@@ -179,9 +197,21 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 		this.height = (this.formationHeight - 1) * SEPARATION_DISTANCE
 				+ this.shipHeight;
 
-		for (List<EnemyShip> column : this.enemyShipsGrid)
+		for (List<EnemyShip> column : this.enemyShipsGrid) {
+			this.shooterIndex[this.shooters.size()] = this.shooters.size();
 			this.shooters.add(column.getLast());
+		}
+	}
 
+	/**
+	 * Deploys the divers of the level. Divers start their dive cooldown and
+	 * draw from the game random generator, so they are deployed when the
+	 * level starts, on the game thread.
+	 *
+	 * @param gameLevelState
+	 *            State of the game at the start of the level.
+	 */
+	public final void deployDivers(final GameLevelState gameLevelState) {
 		this.logger.info("Initializing Divers");
 		for(int i = 1; i <= Math.min(gameLevelState.level(), 8); i++) {
 			// cannot use screen.getWidth() because screen has not been attached yet
@@ -273,6 +303,8 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 
 			positionX += movementX;
 			positionY += movementY;
+			gridOriginX += movementX;
+			gridOriginY += movementY;
 
 			// Cleans explosions.
 			List<EnemyShip> destroyed = new ArrayList<>();
@@ -405,7 +437,7 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 
 				if(enemyShip.getPositionY() > 100) {
 					enemyShip.setPositionY(100);
-					enemyShip.setState((int) Math.round(Math.random()));
+					enemyShip.setState((int) Math.round(GameRandom.getInstance().nextDouble()));
 					enemyShip.getDiveCooldown().reset();
 					this.logger.info("Enemy diver "
 							+ i + " has returned");
@@ -424,78 +456,22 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 
 
 	/**
-	 * Adjusts the width and height of the formation.
+	 * Adjusts the width and height of the formation to the live ships of the
+	 * grid. Keeps the last bounds once the grid is empty.
 	 */
 	private void adjustFormationBounds() {
-		int maxColumn = 0;
-		int minPositionY = Integer.MAX_VALUE;
-		for (List<EnemyShip> column : this.enemyShipsGrid) {
-			if (!column.isEmpty()) {
-				// Height of this column
-				int columnSize = column.getLast().positionY
-						- this.positionY + this.shipHeight;
-				maxColumn = Math.max(maxColumn, columnSize);
-				minPositionY = Math.min(minPositionY, column.getFirst()
-						.getPositionY());
-			}
-		}
-
-		int leftMostPoint = 0;
-		int rightMostPoint = 0;
-
-		for (List<EnemyShip> column : this.enemyShipsGrid) {
-			// Check whether every ship is null
-			boolean allNull = column.stream().allMatch(Objects::isNull);
-
-			if (!allNull) {
-				int firstShipPositionY = 0;
-				int lastShipPositionY = 0;
-
-				// Find the first and last non-null elements in the column
-				for (EnemyShip ship : column) {
-					if (ship != null) {
-						if (firstShipPositionY == 0) {
-							firstShipPositionY = ship.getPositionY();
-						}
-						lastShipPositionY = ship.getPositionY();
-					}
-				}
-
-				// Calculate the height of this column
-				int columnSize = lastShipPositionY - this.positionY + this.shipHeight;
-				maxColumn = Math.max(maxColumn, columnSize);
-				minPositionY = Math.min(minPositionY, firstShipPositionY);
-			}
-		}
-
-		for (List<EnemyShip> column : this.enemyShipsGrid) {
-			// Skip empty or all-null columns
-			if (!column.isEmpty()) {
-				EnemyShip firstNonNullShip = null;
-
-				// Find the first non-null ship in the column
-				for (EnemyShip ship : column) {
-					if (ship != null) {
-						firstNonNullShip = ship;
-						break; // We only need the first non-null element
-					}
-				}
-
-				// Perform calculations only if a non-null ship is found
-				if (firstNonNullShip != null) {
-					if (leftMostPoint == 0) {
-						leftMostPoint = firstNonNullShip.getPositionX();
-					}
-					rightMostPoint = firstNonNullShip.getPositionX();
-				}
-			}
-		}
-
-		this.width = rightMostPoint - leftMostPoint + this.shipWidth;
-		this.height = maxColumn;
-
-		this.positionX = leftMostPoint;
-		this.positionY = minPositionY;
+		int firstColumn = this.occupancy.firstOccupiedColumn();
+		if (firstColumn < 0)
+			return;
+		int lastColumn = this.occupancy.lastOccupiedColumn();
+		int topRow = this.occupancy.topOccupiedRow();
+		int bottomRow = this.occupancy.lowestOccupiedRow();
+
+		this.width = (lastColumn - firstColumn) * SEPARATION_DISTANCE + this.shipWidth;
+		this.height = (bottomRow - topRow) * SEPARATION_DISTANCE + this.shipHeight;
+
+		this.positionX = this.gridOriginX + firstColumn * SEPARATION_DISTANCE;
+		this.positionY = this.gridOriginY + topRow * SEPARATION_DISTANCE;
 	}
 
 	/**
@@ -517,7 +493,7 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 		// Randomly select enemy to fire in proportion to the level
 		List<EnemyShip> selectedShooters = new ArrayList<>();
 		for (int i = 0; i < numberOfShooters; i++) {
-			int index = (int) (Math.random() * this.shooters.size());
+			int index = (int) (GameRandom.getInstance().nextDouble() * this.shooters.size());
 			selectedShooters.add(this.shooters.get(index));
 		}
 
@@ -550,103 +526,71 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 *            1p -1.0, 2p 1.0, both 0.0
 	 */
 	public final void destroy(final EnemyShip destroyedShip, final float balance) {
-		for (List<EnemyShip> column : this.enemyShipsGrid)
-			for (int i = 0; i < column.size(); i++)
-				if (column.get(i) != null && column.get(i).equals(destroyedShip)) {
-					column.get(i).destroy(balance);
-					this.logger.info("Destroyed ship in ("
-							+ this.enemyShipsGrid.indexOf(column) + "," + i + ")");
-				}
-
-		for (int i = 0; i < this.enemyShipsDivers.size(); i++)
-			if (this.enemyShipsDivers.get(i) != null
-					&& this.enemyShipsDivers.get(i).equals(destroyedShip)) {
-				this.enemyShipsDivers.get(i).destroy(balance);
-				this.logger.info("Destroyed diver ship " + i);
-			}
-
-		// Updates the list of ships that can shoot the player.
-		if (this.shooters.contains(destroyedShip)) {
-			int destroyedShipIndex = this.shooters.indexOf(destroyedShip);
-			int destroyedShipColumnIndex = -1;
-
-			for (List<EnemyShip> column : this.enemyShipsGrid)
-				if (column.contains(destroyedShip)) {
-					destroyedShipColumnIndex = this.enemyShipsGrid.indexOf(column);
-					break;
-				}
-
-			EnemyShip nextShooter = getNextShooter(this.enemyShipsGrid
-					.get(destroyedShipColumnIndex));
-
-			if (nextShooter != null)
-				this.shooters.set(destroyedShipIndex, nextShooter);
-			else {
-				this.shooters.remove(destroyedShipIndex);
-				this.logger.info("Shooters list reduced to "
-						+ this.shooters.size() + " members.");
-			}
-		}
-
+		destroyedShip.destroy(balance);
+		if (destroyedShip.getGridColumn() >= 0)
+			this.logger.info("Destroyed ship in (" + destroyedShip.getGridColumn()
+					+ "," + destroyedShip.getGridRow() + ")");
+		else
+			this.logger.info("Destroyed diver ship");
+
+		removeFromGrid(destroyedShip);
 		this.shipCount--;
 	}
 
 	public final void healthManageDestroy(final EnemyShip destroyedShip, final float balance) {
-		for (List<EnemyShip> column : this.enemyShipsGrid)
-			for (int i = 0; i < column.size(); i++)
-				if (column.get(i) != null && column.get(i).equals(destroyedShip)) {
-					//If health is 0, number of remaining enemy ships--, score awarded, number of destroyed ships++
-					if(destroyedShip.getHealth() <= 0){
-						this.shipCount--;
-						this.logger.info("Destroyed ship in ("
-								+ this.enemyShipsGrid.indexOf(column) + "," + i + ")");
-						point = destroyedShip.getPointValue();
-						this.destroyedShip = 1;
-						destroyedShip.setHealth(destroyedShip.getHealth() - 1);
-					}else{
-						point = 0;
-						this.destroyedShip = 0;
-					}
-					column.get(i).healthManageDestroy(balance);
-				}
-
-		for(int i = 0; i < this.enemyShipsDivers.size(); i++) {
-			if(this.enemyShipsDivers.get(i) != null
-					&& this.enemyShipsDivers.get(i).equals(destroyedShip)) {
-				if(destroyedShip.getHealth() <= 0) {
-					this.shipCount--;
-					this.logger.info("Destroyed enemy diver " + i);
-					point = destroyedShip.getPointValue();
-					this.destroyedShip = 1;
-				} else {
-					point = 0;
-					this.destroyedShip = 0;
-				}
-				destroyedShip.healthManageDestroy(balance);
+		//If health is 0, number of remaining enemy ships--, score awarded, number of destroyed ships++
+		if (destroyedShip.getHealth() <= 0) {
+			this.shipCount--;
+			if (destroyedShip.getGridColumn() >= 0) {
+				this.logger.info("Destroyed ship in (" + destroyedShip.getGridColumn()
+						+ "," + destroyedShip.getGridRow() + ")");
+				destroyedShip.setHealth(destroyedShip.getHealth() - 1);
+			} else {
+				this.logger.info("Destroyed enemy diver");
 			}
+			point = destroyedShip.getPointValue();
+			this.destroyedShip = 1;
+		} else {
+			point = 0;
+			this.destroyedShip = 0;
 		}
+		destroyedShip.healthManageDestroy(balance);
 
-		// Updates the list of ships that can shoot the player.
-		if (this.shooters.contains(destroyedShip)) {
-			int destroyedShipIndex = this.shooters.indexOf(destroyedShip);
-			int destroyedShipColumnIndex = -1;
-
-			for (List<EnemyShip> column : this.enemyShipsGrid)
-				if (column.contains(destroyedShip)) {
-					destroyedShipColumnIndex = this.enemyShipsGrid.indexOf(column);
-					break;
-				}
+		if (destroyedShip.isDestroyed())
+			removeFromGrid(destroyedShip);
+	}
 
-			EnemyShip nextShooter = getNextShooter(this.enemyShipsGrid
-					.get(destroyedShipColumnIndex));
+	/**
+	 * Empties the slot of a destroyed grid ship and, if it was the shooter of
+	 * its column, hands shooting over to the next ship of the column.
+	 *
+	 * @param destroyedShip
+	 *            Ship that was destroyed.
+	 */
+	private void removeFromGrid(final EnemyShip destroyedShip) {
+		int column = destroyedShip.getGridColumn();
+		if (column < 0)
+			return;
+		this.occupancy.clear(column, destroyedShip.getGridRow());
 
-			if (nextShooter != null)
-				this.shooters.set(destroyedShipIndex, nextShooter);
-			else {
-				this.shooters.remove(destroyedShipIndex);
-				this.logger.info("Shooters list reduced to "
-						+ this.shooters.size() + " members.");
+		// Updates the list of ships that can shoot the player.
+		int index = this.shooterIndex[column];
+		if (index < 0 || this.shooters.get(index) != destroyedShip)
+			return;
+
+		int nextShooterRow = this.occupancy.lowestOccupiedRow(column);
+		if (nextShooterRow >= 0) {
+			this.shooters.set(index, this.slots[column][nextShooterRow]);
+		} else {
+			// Moves the last shooter into the freed position.
+			EnemyShip lastShooter = this.shooters.removeLast();
+			if (index < this.shooters.size()) {
+				this.shooters.set(index, lastShooter);
+				this.shooterIndex[lastShooter.getGridColumn()] = index;
 			}
+			this.shooterIndex[column] = -1;
+			this.logger.info("Shooters list reduced to "
+					+ this.shooters.size() + " members.");
 		}
 	}
 
@@ -676,7 +620,7 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 */
 	@Override
 	public final Iterator<EnemyShip> iterator() {
-		Set<EnemyShip> enemyShipsList = new HashSet<>();
+		Set<EnemyShip> enemyShipsList = new LinkedHashSet<>();
 
 		for (List<EnemyShip> column : this.enemyShipsGrid)
             enemyShipsList.addAll(column);
@@ -714,6 +658,30 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 
 	public List<List<EnemyShip>> getEnemyShips() {return enemyShipsGrid; }
 
+	/**
+	 * Getter for the ship that started in a slot of the grid.
+	 *
+	 * @param column
+	 *            Column of the slot.
+	 * @param row
+	 *            Row of the slot.
+	 * @return Ship of the slot, destroyed or not, null outside the grid.
+	 */
+	public EnemyShip getShipAt(final int column, final int row) {
+		if (column < 0 || column >= this.formationWidth || row < 0 || row >= this.formationHeight)
+			return null;
+		return this.slots[column][row];
+	}
+
+	/**
+	 * Getter for the live ships of the grid, by slot.
+	 *
+	 * @return Occupancy of the grid.
+	 */
+	public FormationOccupancy getOccupancy() {
+		return this.occupancy;
+	}
+
 	public List<EnemyShipDiver> getEnemyDivers() {
 		return enemyShipsDivers;
 	}
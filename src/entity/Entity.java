@@ -1,6 +1,7 @@
 package entity;
 
 import java.awt.*;
+import java.util.Objects;
 
 public abstract class Entity {
     /** Position in the x-axis of the upper left corner of the entity. */
@@ -19,6 +20,42 @@ public abstract class Entity {
 
 	public abstract EntityType getType();
 
+	/**
+	 * Getter for the area of the screen the entity covers when drawn.
+	 *
+	 * @return Bounds of the entity.
+	 */
+	public abstract Rectangle getBounds();
+
+	/**
+	 * Checks if another entity would be drawn with exactly the same pixels.
+	 * Subclasses compare their own drawing properties on top of these.
+	 *
+	 * @param other
+	 *            Entity to compare with.
+	 * @return True when both entities look the same on screen.
+	 */
+	public boolean drawsSameAs(final Entity other) {
+		return other != null && other.getClass() == this.getClass()
+				&& other.positionX == this.positionX
+				&& other.positionY == this.positionY
+				&& Objects.equals(other.color, this.color);
+	}
+
+	/**
+	 * Gets a copy of the entity as it is drawn now, so another thread can
+	 * draw it while this one keeps changing. Entities that don't change after
+	 * being created return themselves.
+	 *
+	 * @param reuse
+	 *            Copy made for an earlier frame, reused when it is of the
+	 *            same kind. May be null.
+	 * @return Entity drawn the same way.
+	 */
+	public Entity copyForRender(final Entity reuse) {
+		return this;
+	}
+
     /**
 	 * Setter for the color of the entity.
 	 *
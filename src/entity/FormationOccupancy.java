@@ -0,0 +1,233 @@
+package entity;
+
+/**
+ * Tracks which slots of the enemy formation still hold a live ship. Each row
+ * is a bit mask of its columns, so counting the ships in a window only takes
+ * one mask operation per row of the window. Each column is also kept as a bit
+ * mask of its rows, to find the bottom ship of a column in one step, and the
+ * non-empty rows and columns are kept as masks too, so the bounds of the
+ * formation are known without scanning it.
+ */
+public final class FormationOccupancy {
+
+	/** Widest formation a row mask can hold. */
+	public static final int MAX_COLUMNS = Long.SIZE;
+	/** Tallest formation a column mask can hold. */
+	public static final int MAX_ROWS = Long.SIZE;
+
+	/** Number of columns of the formation. */
+	private final int columns;
+	/** Number of rows of the formation. */
+	private final int rows;
+	/** Live ships of each row, bit i set when column i is occupied. */
+	private final long[] rowMasks;
+	/** Live ships of each column, bit i set when row i is occupied. */
+	private final long[] columnMasks;
+	/** Rows holding at least one live ship. */
+	private long occupiedRows;
+	/** Columns holding at least one live ship. */
+	private long occupiedColumns;
+	/** Number of live ships in the formation. */
+	private int count;
+
+	/** Position and ship count of a window of the formation. */
+	public record Area(int column, int row, int count) { }
+
+	/**
+	 * Constructor, starts with every slot occupied.
+	 *
+	 * @param columns
+	 *            Number of columns of the formation.
+	 * @param rows
+	 *            Number of rows of the formation.
+	 */
+	public FormationOccupancy(final int columns, final int rows) {
+		if (columns > MAX_COLUMNS || rows > MAX_ROWS)
+			throw new IllegalArgumentException("Formation larger than "
+					+ MAX_COLUMNS + "x" + MAX_ROWS + ".");
+		this.columns = columns;
+		this.rows = rows;
+		this.rowMasks = new long[rows];
+		this.columnMasks = new long[columns];
+
+		long fullRow = columns == MAX_COLUMNS ? -1L : (1L << columns) - 1;
+		for (int row = 0; row < rows; row++)
+			this.rowMasks[row] = fullRow;
+		long fullColumn = rows == MAX_ROWS ? -1L : (1L << rows) - 1;
+		for (int column = 0; column < columns; column++)
+			this.columnMasks[column] = fullColumn;
+		this.occupiedRows = columns > 0 ? fullColumn : 0;
+		this.occupiedColumns = rows > 0 ? fullRow : 0;
+		this.count = columns * rows;
+	}
+
+	/**
+	 * Marks a slot as empty.
+	 *
+	 * @param column
+	 *            Column of the slot.
+	 * @param row
+	 *            Row of the slot.
+	 */
+	public void clear(final int column, final int row) {
+		long bit = 1L << column;
+		if ((this.rowMasks[row] & bit) != 0) {
+			this.rowMasks[row] &= ~bit;
+			this.columnMasks[column] &= ~(1L << row);
+			if (this.rowMasks[row] == 0)
+				this.occupiedRows &= ~(1L << row);
+			if (this.columnMasks[column] == 0)
+				this.occupiedColumns &= ~bit;
+			this.count--;
+		}
+	}
+
+	/**
+	 * Checks if a slot holds a live ship.
+	 *
+	 * @param column
+	 *            Column of the slot.
+	 * @param row
+	 *            Row of the slot.
+	 * @return True when the slot is occupied.
+	 */
+	public boolean isOccupied(final int column, final int row) {
+		if (column < 0 || column >= this.columns || row < 0 || row >= this.rows)
+			return false;
+		return (this.rowMasks[row] & (1L << column)) != 0;
+	}
+
+	/**
+	 * Counts the live ships in a window. Parts of the window outside the
+	 * formation count as empty.
+	 *
+	 * @param column
+	 *            Leftmost column of the window.
+	 * @param row
+	 *            Top row of the window.
+	 * @param width
+	 *            Number of columns of the window.
+	 * @param height
+	 *            Number of rows of the window.
+	 * @return Number of live ships in the window.
+	 */
+	public int countArea(final int column, final int row, final int width, final int height) {
+		int firstColumn = Math.max(column, 0);
+		int lastColumn = Math.min(column + width, this.columns);
+		if (firstColumn >= lastColumn)
+			return 0;
+		int span = lastColumn - firstColumn;
+		long window = (span == MAX_COLUMNS ? -1L : (1L << span) - 1) << firstColumn;
+
+		int total = 0;
+		for (int r = Math.max(row, 0); r < Math.min(row + height, this.rows); r++)
+			total += Long.bitCount(this.rowMasks[r] & window);
+		return total;
+	}
+
+	/**
+	 * Counts the live ships in a row.
+	 *
+	 * @param row
+	 *            Row to count.
+	 * @return Number of live ships in the row.
+	 */
+	public int countRow(final int row) {
+		return Long.bitCount(this.rowMasks[row]);
+	}
+
+	/**
+	 * Finds the window holding the most live ships. Ties go to the window
+	 * closest to the top left corner.
+	 *
+	 * @param width
+	 *            Number of columns of the window.
+	 * @param height
+	 *            Number of rows of the window.
+	 * @return Densest window, or null when the formation is empty.
+	 */
+	public Area findDensestArea(final int width, final int height) {
+		Area best = null;
+		for (int row = 0; row <= Math.max(this.rows - height, 0); row++)
+			for (int column = 0; column <= Math.max(this.columns - width, 0); column++) {
+				int areaCount = countArea(column, row, width, height);
+				if (areaCount > 0 && (best == null || areaCount > best.count()))
+					best = new Area(column, row, areaCount);
+			}
+		return best;
+	}
+
+	/**
+	 * Finds the bottom row that still holds a live ship.
+	 *
+	 * @return Index of the row, -1 when the formation is empty.
+	 */
+	public int lowestOccupiedRow() {
+		return Long.SIZE - 1 - Long.numberOfLeadingZeros(this.occupiedRows);
+	}
+
+	/**
+	 * Finds the top row that still holds a live ship.
+	 *
+	 * @return Index of the row, -1 when the formation is empty.
+	 */
+	public int topOccupiedRow() {
+		return this.occupiedRows == 0 ? -1 : Long.numberOfTrailingZeros(this.occupiedRows);
+	}
+
+	/**
+	 * Finds the leftmost column that still holds a live ship.
+	 *
+	 * @return Index of the column, -1 when the formation is empty.
+	 */
+	public int firstOccupiedColumn() {
+		return this.occupiedColumns == 0 ? -1 : Long.numberOfTrailingZeros(this.occupiedColumns);
+	}
+
+	/**
+	 * Finds the rightmost column that still holds a live ship.
+	 *
+	 * @return Index of the column, -1 when the formation is empty.
+	 */
+	public int lastOccupiedColumn() {
+		return Long.SIZE - 1 - Long.numberOfLeadingZeros(this.occupiedColumns);
+	}
+
+	/**
+	 * Finds the bottom row of a column that still holds a live ship.
+	 *
+	 * @param column
+	 *            Column to search.
+	 * @return Index of the row, -1 when the column is empty.
+	 */
+	public int lowestOccupiedRow(final int column) {
+		return Long.SIZE - 1 - Long.numberOfLeadingZeros(this.columnMasks[column]);
+	}
+
+	/**
+	 * Getter for the number of live ships.
+	 *
+	 * @return Number of occupied slots.
+	 */
+	public int getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Getter for the number of columns.
+	 *
+	 * @return Number of columns of the formation.
+	 */
+	public int getColumns() {
+		return this.columns;
+	}
+
+	/**
+	 * Getter for the number of rows.
+	 *
+	 * @return Number of rows of the formation.
+	 */
+	public int getRows() {
+		return this.rows;
+	}
+}
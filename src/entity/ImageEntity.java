@@ -20,6 +20,23 @@ public class ImageEntity extends Entity{
 		return EntityType.IMAGE;
 	}
 
+	@Override
+	public Rectangle getBounds() {
+		return new Rectangle(positionX, positionY, width, height);
+	}
+
+	/**
+	 * Compares the image by identity. An image redrawn in place between two
+	 * frames still compares as the same.
+	 */
+	@Override
+	public boolean drawsSameAs(final Entity other) {
+		return super.drawsSameAs(other)
+				&& ((ImageEntity) other).image == image
+				&& ((ImageEntity) other).width == width
+				&& ((ImageEntity) other).height == height;
+	}
+
     /**
 	 * Getter for the width of the image associated to the entity.
 	 *
@@ -44,4 +61,20 @@ public class ImageEntity extends Entity{
 	 * @return Image of the entity.
 	 */
     public final Image getImage() { return this.image; }
+
+	/**
+	 * Copies the image entity, sharing its image.
+	 */
+	@Override
+	public Entity copyForRender(final Entity reuse) {
+		if (!(reuse instanceof ImageEntity copy))
+			return new ImageEntity(positionX, positionY, color, width, height, image);
+		copy.positionX = positionX;
+		copy.positionY = positionY;
+		copy.color = color;
+		copy.width = width;
+		copy.height = height;
+		copy.image = image;
+		return copy;
+	}
 }
@@ -1,5 +1,7 @@
 package entity;
 
+import engine.Cooldown;
+import engine.Core;
 import engine.Renderer.SpriteType;
 import engine.Sound;
 import engine.SoundManager;
@@ -18,8 +20,10 @@ import java.awt.*;
  *
  */
 public class ItemBox extends SpriteEntity {
-    /** Check if it was dropped right now. */
-    private boolean droppedRightNow;
+    /** Time after dropping during which bullets pass through the box. */
+    private static final int DROP_PROTECTION_TIME = 100;
+    /** Time until the box can be hit. */
+    private final Cooldown dropCooldown;
 
     /** Initialize singleton instance of SoundManager and return that */
     private static final SoundManager soundManager = SoundManager.getInstance();
@@ -34,18 +38,11 @@ public class ItemBox extends SpriteEntity {
     public ItemBox(int positionX, int positionY, final float balance) {
         super(positionX, positionY, 7 * 2, 7 * 2, Color.YELLOW);
         this.spriteType = SpriteType.ITEM_BOX;
-        this.droppedRightNow = true;
         soundManager.playSound(Sound.ITEM_SPAWN, balance);
 
         // Prevents being hit by bullets immediately after being created.
-        new Thread(() -> {
-            try {
-                Thread.sleep(100);
-                this.droppedRightNow = false;
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }).start();
+        this.dropCooldown = Core.getCooldown(DROP_PROTECTION_TIME);
+        this.dropCooldown.reset();
     }
 
     /**
@@ -54,6 +51,6 @@ public class ItemBox extends SpriteEntity {
      * @return True when it was dropped right now.
      */
     public boolean isDroppedRightNow() {
-        return this.droppedRightNow;
+        return !this.dropCooldown.checkFinished();
     }
 }
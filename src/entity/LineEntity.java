@@ -22,6 +22,19 @@ public class LineEntity extends Entity{
 		return EntityType.LINE;
 	}
 
+    @Override
+    public Rectangle getBounds() {
+        return new Rectangle(Math.min(positionX, positionX2), Math.min(positionY, positionY2),
+                Math.abs(positionX2 - positionX) + 1, Math.abs(positionY2 - positionY) + 1);
+    }
+
+    @Override
+    public boolean drawsSameAs(final Entity other) {
+        return super.drawsSameAs(other)
+                && ((LineEntity) other).positionX2 == positionX2
+                && ((LineEntity) other).positionY2 == positionY2;
+    }
+
     /**
      * Getter for X at the end point of line
      *
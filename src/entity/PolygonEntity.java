@@ -1,6 +1,7 @@
 package entity;
 
 import java.awt.*;
+import java.util.Arrays;
 
 public class PolygonEntity extends Entity{
     protected int[] xPoints;
@@ -29,4 +30,18 @@ public class PolygonEntity extends Entity{
     public EntityType getType(){
         return EntityType.POLYGON;
     }
+
+    @Override
+    public Rectangle getBounds() {
+        return new Polygon(xPoints, yPoints, nPoints).getBounds();
+    }
+
+    @Override
+    public boolean drawsSameAs(final Entity other) {
+        return super.drawsSameAs(other)
+                && ((PolygonEntity) other).nPoints == nPoints
+                && ((PolygonEntity) other).iSFilled == iSFilled
+                && Arrays.equals(((PolygonEntity) other).xPoints, xPoints)
+                && Arrays.equals(((PolygonEntity) other).yPoints, yPoints);
+    }
 }
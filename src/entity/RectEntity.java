@@ -22,6 +22,20 @@ public class RectEntity extends Entity{
 		return EntityType.RECT;
 	}
 
+	@Override
+	public Rectangle getBounds() {
+		// Outlines cover one more pixel than their size.
+		return new Rectangle(positionX, positionY, width + 1, height + 1);
+	}
+
+	@Override
+	public boolean drawsSameAs(final Entity other) {
+		return super.drawsSameAs(other)
+				&& ((RectEntity) other).width == width
+				&& ((RectEntity) other).height == height
+				&& ((RectEntity) other).isFilled == isFilled;
+	}
+
     /**
 	 * Getter for the width of the image associated to the entity.
 	 *
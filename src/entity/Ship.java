@@ -2,6 +2,7 @@ package entity;
 
 import engine.Cooldown;
 import engine.Core;
+import engine.GameClock;
 import engine.Renderer.SpriteType;
 import engine.Sound;
 import engine.SoundManager;
@@ -161,7 +162,7 @@ public abstract class Ship extends SpriteEntity {
 		if (this.shootCooldown.checkFinished()) {
 
 			this.shootCooldown.reset();
-			this.lastShootTime = System.currentTimeMillis();
+			this.lastShootTime = GameClock.getInstance().now();
 
 			switch (shootNum) {
 				case 1:
@@ -248,7 +249,7 @@ public abstract class Ship extends SpriteEntity {
 	}
 
 	public long getRemainingReloadTime(){
-		long currentTime = System.currentTimeMillis();
+		long currentTime = GameClock.getInstance().now();
 		long elapsedTime = currentTime - this.lastShootTime;
 		long remainingTime = this.getShootInterval() - elapsedTime;
 		return remainingTime > 0 ? remainingTime : 0;
@@ -1,6 +1,7 @@
 package entity;
 
 import java.awt.Color;
+import java.awt.Rectangle;
 
 import engine.Renderer.SpriteType;
 
@@ -45,6 +46,43 @@ public class SpriteEntity extends Entity{
 		return EntityType.SPRITE;
 	}
 
+	@Override
+	public Rectangle getBounds() {
+		return new Rectangle(positionX, positionY, width, height);
+	}
+
+	@Override
+	public boolean drawsSameAs(final Entity other) {
+		return super.drawsSameAs(other)
+				&& ((SpriteEntity) other).spriteType == spriteType
+				&& ((SpriteEntity) other).width == width
+				&& ((SpriteEntity) other).height == height;
+	}
+
+	@Override
+	public Entity copyForRender(final Entity reuse) {
+		SpriteEntity copy = reuse != null && reuse.getClass() == SpriteEntity.class
+				? (SpriteEntity) reuse
+				: new SpriteEntity(positionX, positionY, width, height, color);
+		copyDrawingTo(copy);
+		return copy;
+	}
+
+	/**
+	 * Copies the properties the entity is drawn with to another sprite.
+	 *
+	 * @param target
+	 *            Sprite to copy to.
+	 */
+	protected final void copyDrawingTo(final SpriteEntity target) {
+		target.positionX = positionX;
+		target.positionY = positionY;
+		target.width = width;
+		target.height = height;
+		target.color = color;
+		target.spriteType = spriteType;
+	}
+
 	/**
 	 * Getter for the sprite that the entity will be drawn as.
 	 * 
@@ -1,6 +1,9 @@
 package entity;
 
+import engine.FontManager;
+
 import java.awt.*;
+import java.util.Objects;
 
 public class TextEntity extends Entity{
     protected String text;
@@ -17,6 +20,21 @@ public class TextEntity extends Entity{
 		return EntityType.TEXT;
 	}
 
+	@Override
+	public Rectangle getBounds() {
+		FontMetrics metrics = FontManager.getMetrics(font);
+		// Position is the baseline, glyphs may also overhang their advance.
+		return new Rectangle(positionX - 2, positionY - metrics.getMaxAscent(),
+				metrics.stringWidth(text) + 4, metrics.getMaxAscent() + metrics.getMaxDescent());
+	}
+
+	@Override
+	public boolean drawsSameAs(final Entity other) {
+		return super.drawsSameAs(other)
+				&& Objects.equals(((TextEntity) other).text, text)
+				&& Objects.equals(((TextEntity) other).font, font);
+	}
+
     /**
      * Setter for the text of the entity.
      *
@@ -45,6 +63,21 @@ public class TextEntity extends Entity{
      */
     public final Font getFont() {return this.font;}
 
+	/**
+	 * Copies the text entity, its text and font included.
+	 */
+	@Override
+	public Entity copyForRender(final Entity reuse) {
+		if (!(reuse instanceof TextEntity copy))
+			return new TextEntity(positionX, positionY, color, text, font);
+		copy.positionX = positionX;
+		copy.positionY = positionY;
+		copy.color = color;
+		copy.text = text;
+		copy.font = font;
+		return copy;
+	}
+
 
 
 
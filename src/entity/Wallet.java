@@ -70,6 +70,17 @@ public class Wallet {
         logger.info("Coin Gain Level upgraded to: " + coinLevel);
     }
 
+    /**
+     * Sets every upgrade level at once without sending them to the server,
+     * used to restore the levels stored in a recorded session.
+     */
+    public void restoreLevels(int bulletLevel, int shootLevel, int livesLevel, int coinLevel) {
+        this.bulletLevel = bulletLevel;
+        this.shootLevel = shootLevel;
+        this.livesLevel = livesLevel;
+        this.coinLevel = coinLevel;
+    }
+
     public void deposit(int amount) {
         if (amount <= 0) return;
         coin += amount;
@@ -0,0 +1,12 @@
+package message;
+
+import engine.network.Body;
+
+/**
+ * Entry of the ranking at its rank.
+ *
+ * @param rank      Rank, from one for the best score.
+ * @param username  Player's name.
+ * @param highScore Player's best score.
+ */
+public record RankingEntry(int rank, String username, int highScore) implements Body { }
@@ -0,0 +1,19 @@
+package message;
+
+import engine.network.Body;
+
+import java.util.List;
+
+/**
+ * Page of the ranking answering a RankingQuery.
+ *
+ * @param version    Version of the ranking the page is taken from.
+ * @param total      Number of entries in the whole ranking.
+ * @param firstRank  Rank of the first entry of the page.
+ * @param lastRank   Rank of the last entry of the page.
+ * @param entries    Entries of the page, or only those that changed when delta.
+ * @param delta      Whether entries only holds the changes since the version of the query.
+ * @param playerRank Rank of the player, zero if not ranked.
+ */
+public record RankingPage(long version, int total, int firstRank, int lastRank, List<RankingEntry> entries,
+                          boolean delta, int playerRank) implements Body { }
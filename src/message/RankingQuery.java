@@ -0,0 +1,14 @@
+package message;
+
+import engine.network.Body;
+
+/**
+ * Asks for a page of the ranking.
+ *
+ * @param offset   Index of the first entry, from zero for the best score.
+ * @param limit    Maximum number of entries.
+ * @param aroundMe Whether the page is centered on the player instead of starting at the offset.
+ * @param version  Version of the ranking the client already has, zero for none. The server may then answer
+ *                 with only the entries of the page that changed since.
+ */
+public record RankingQuery(int offset, int limit, boolean aroundMe, long version) implements Body { }
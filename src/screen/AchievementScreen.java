@@ -2,6 +2,8 @@ package screen;
 
 import engine.*;
 import entity.Achievement;
+import entity.Entity;
+import entity.Ship;
 
 import java.awt.event.KeyEvent;
 import java.io.IOException;
@@ -18,6 +20,23 @@ public class AchievementScreen extends Screen {
 	private List<Score> highScores;
 	/** Singleton instance of SoundManager */
 	private final SoundManager soundManager = SoundManager.getInstance();
+	/** Number of best games shown in the game history. */
+	private static final int BEST_GAMES = 5;
+	/** Length of a week, in milliseconds. */
+	private static final long WEEK = 7L * 24 * 60 * 60 * 1000;
+	/** Milliseconds between changes in the game history. */
+	private static final int SELECTION_TIME = 200;
+
+	/** Archive of every game played, null when it couldn't be opened. */
+	private GameArchive gameArchive;
+	/** Whether the game history is shown instead of the achievements. */
+	private boolean showsHistory;
+	/** Ship the game history is shown for, null for every ship. */
+	private Ship.ShipType historyShipType;
+	/** Entities of the game history, built when it is shown or changed. */
+	private List<Entity> historyEntities;
+	/** Time between changes in the game history. */
+	private final Cooldown selectionCooldown;
 
 	private int totalScore;
 	private int totalPlayTime;
@@ -37,13 +56,15 @@ public class AchievementScreen extends Screen {
 	 */
 	public AchievementScreen(final int width, final int height, final int fps) {
 		super(width, height, fps);
+		this.usesDirtyRendering = true;
 
 		this.menu = Menu.MAIN;
+		this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
 		FileManager fileManager = FileManager.getInstance();
+		this.highScores = HighScoreRepository.getInstance().getHighScores();
 
 		try {
 			Achievement achievement = fileManager.loadAchievement();
-			this.highScores = fileManager.loadHighScores();
 			this.totalScore = achievement.getTotalScore();
 			this.totalPlayTime = fileManager.loadAchievement().getTotalPlayTime();
 			this.currentPerfectStage = fileManager.loadAchievement().currentPerfectStage;
@@ -52,6 +73,12 @@ public class AchievementScreen extends Screen {
 		} catch (NumberFormatException | IOException e) {
 			logger.warning("Couldn't load total achievement!");
 		}
+
+		try {
+			this.gameArchive = fileManager.getGameArchive();
+		} catch (IOException e) {
+			logger.warning("Couldn't open the game archive: " + e.getMessage());
+		}
 	}
 
 	/**
@@ -65,10 +92,53 @@ public class AchievementScreen extends Screen {
 			this.isRunning = false;
 			soundManager.playSound(Sound.MENU_BACK);
 		}
+
+		if (this.gameArchive == null || !this.inputDelay.checkFinished()
+				|| !this.selectionCooldown.checkFinished())
+			return;
+		if (inputManager.isKeyDown(KeyEvent.VK_SPACE)) {
+			this.showsHistory = !this.showsHistory;
+			if (this.showsHistory)
+				this.historyEntities = createHistory();
+			this.selectionCooldown.reset();
+		} else if (this.showsHistory && (inputManager.isKeyDown(KeyEvent.VK_LEFT)
+				|| inputManager.isKeyDown(KeyEvent.VK_RIGHT))) {
+			// Cycles through every ship, then all of them.
+			Ship.ShipType[] shipTypes = Ship.ShipType.values();
+			int index = this.historyShipType == null ? shipTypes.length : this.historyShipType.ordinal();
+			index = (index + (inputManager.isKeyDown(KeyEvent.VK_RIGHT) ? 1 : shipTypes.length))
+					% (shipTypes.length + 1);
+			this.historyShipType = index == shipTypes.length ? null : shipTypes[index];
+			this.historyEntities = createHistory();
+			this.selectionCooldown.reset();
+		}
+	}
+
+	/**
+	 * Builds the game history of the ship selected from the archive.
+	 *
+	 * @return Entities of the game history.
+	 */
+	private List<Entity> createHistory() {
+		long now = System.currentTimeMillis();
+		int gamesThisWeek = 0;
+		for (GameArchive.GameRecord game : this.gameArchive.getPlayedBetween(now - WEEK, now + 1))
+			if (this.historyShipType == null || game.shipType() == this.historyShipType)
+				gamesThisWeek++;
+		if (this.historyShipType == null)
+			return EntityFactory.createGameHistory(this, "All ships",
+					this.gameArchive.getTotals(), gamesThisWeek, this.gameArchive.getTopScores(BEST_GAMES));
+		return EntityFactory.createGameHistory(this, this.historyShipType.name(),
+				this.gameArchive.getTotals(this.historyShipType), gamesThisWeek,
+				this.gameArchive.getTopScores(BEST_GAMES, this.historyShipType));
 	}
 
 
 	protected void updateEntity(){
+		if (this.showsHistory) {
+			entityList.addAll(this.historyEntities);
+			return;
+		}
 		entityList.addAll(EntityFactory.createAchievementMenu(this, this.totalScore, this.totalPlayTime,
 				this.maxCombo, this.currentPerfectStage, this.currentPerfectStage+1,
 				this.checkFlawlessFailure));
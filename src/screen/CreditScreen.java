@@ -15,6 +15,7 @@ public class CreditScreen extends Screen{
 
     public CreditScreen(final int width, final int height, final int fps){
         super(width, height, fps);
+        this.usesDirtyRendering = true;
 
         this.menu = Menu.MAIN;
         this.currentFrame = 0;
@@ -7,7 +7,7 @@ import service.RankingService;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
-import java.io.IOException;
+import java.awt.image.BufferedImage;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -23,7 +23,10 @@ public class GameScreen extends Screen implements Callable<GameLevelState> {
 
 	/** Milliseconds until the screen accepts user input. */
 	private static final int INPUT_DELAY = 6000;
-	private static final int SEPARATION_LINE_HEIGHT = 40;
+	/** Distance from the ship's left side to its launch trajectory. */
+	private static final int TRAJECTORY_OFFSET = 13;
+	/** Key pausing and resuming single player games. */
+	private static final int PAUSE_KEY = KeyEvent.VK_P;
 
 	/** Current game difficulty settings. */
 	private final GameSettings gameSettings;
@@ -36,6 +39,21 @@ public class GameScreen extends Screen implements Callable<GameLevelState> {
 	private long gameStartTime;
 	/** list of highScores for find recode. */
 	private List<Score>highScores;
+	/** Prerendered score, lives, level, combo and record. */
+	private final HudLayer hudLayer;
+	/** Prerendered static background, drawn under every other entity. */
+	private final ImageEntity backgroundLayer;
+	/** Prerendered launch trajectory, moved along with the ship. */
+	private final ImageEntity trajectoryLayer;
+	/** Prerendered layers of the last screen size, the same for every level. */
+	private static LevelLayers levelLayers;
+	/** Whether single player games are drawn on a render thread of their own. */
+	private static boolean pipelinedRendering = false;
+
+	/** Frames handed to the render thread, or to the screen drawing this game in two player mode. */
+	private final SnapshotExchange snapshots = new SnapshotExchange();
+	/** Thread drawing the frames while the game runs pipelined, null otherwise. */
+	private RenderThread renderThread;
 	/** Singleton instance of SoundManager */
 	private final SoundManager soundManager = SoundManager.getInstance();
 
@@ -45,6 +63,9 @@ public class GameScreen extends Screen implements Callable<GameLevelState> {
 
 	private boolean isMultiPlay = false;
 
+	/** Whether the pause key was down in the previous frame. */
+	private boolean wasPauseKeyDown;
+
     private long ping = 0L;
 
     /**
@@ -70,11 +91,51 @@ public class GameScreen extends Screen implements Callable<GameLevelState> {
 		this.shipType = gameSettings.shipType();
 		this.gameState = new GameState(gameLevelState, gameSettings);
 
-		try {
-			this.highScores = FileManager.getInstance().loadHighScores();
-		} catch (IOException e) {
-			logger.warning("Couldn't load high scores!");
-		}
+		this.highScores = HighScoreRepository.getInstance().getHighScores();
+		this.hudLayer = new HudLayer(this, this.shipType, this.highScores, this.snapshots);
+		LevelLayers layers = getLevelLayers(this);
+		this.backgroundLayer = EntityFactory.createImageEntity(0, 0, Color.WHITE, width, height, layers.background());
+		this.trajectoryLayer = EntityFactory.createImageEntity(0, 0, Color.WHITE, 2, height, layers.trajectory());
+	}
+
+	/**
+	 * Prerendered background and launch trajectory of a screen size.
+	 *
+	 * @param width
+	 *            Screen width.
+	 * @param height
+	 *            Screen height.
+	 * @param background
+	 *            Prerendered background.
+	 * @param trajectory
+	 *            Prerendered launch trajectory.
+	 */
+	private record LevelLayers(int width, int height, BufferedImage background, BufferedImage trajectory) { }
+
+	/**
+	 * Gets the prerendered layers of a screen, rendering them only when the
+	 * screen size changed. The layers are never redrawn, so screens and
+	 * render threads share them.
+	 *
+	 * @param screen
+	 *            Game screen the layers are for.
+	 * @return Prerendered layers.
+	 */
+	private static synchronized LevelLayers getLevelLayers(final Screen screen) {
+		if (levelLayers != null && levelLayers.width() == screen.getWidth()
+				&& levelLayers.height() == screen.getHeight())
+			return levelLayers;
+
+		Renderer renderer = Renderer.getInstance();
+		BufferedImage background = renderer.createLayer(screen.getWidth(), screen.getHeight());
+		renderer.renderLayer(background, List.<Entity>of(EntityFactory.createGameTitle(screen)));
+
+		// Dashes are drawn one pixel wide, so the strip is two pixels wide.
+		BufferedImage trajectory = renderer.createLayer(2, screen.getHeight());
+		renderer.renderLayer(trajectory, EntityFactory.createLaunchTrajectory(screen, -TRAJECTORY_OFFSET));
+
+		levelLayers = new LevelLayers(screen.getWidth(), screen.getHeight(), background, trajectory);
+		return levelLayers;
 	}
 
 	/**
@@ -83,13 +144,15 @@ public class GameScreen extends Screen implements Callable<GameLevelState> {
 	@Override
 	public final void initialize() {
 		super.initialize();
-		gameState.initialize(gameSettings, gameLevelState, this, gameLevelState.formationHeight());
+		// Usually built in the background while the previous level ended.
+		LevelLayout levelLayout = LevelPreloader.getInstance().take(gameSettings, gameLevelState, this);
+		gameState.initialize(gameSettings, gameLevelState, this, levelLayout);
 
         // Appears each 10-30 seconds.
 		logger.info("Player ship created " + this.shipType + " at " + gameState.getShip().getPositionX() + ", " + gameState.getShip().getPositionY());
 
 		// Special input delay / countdown.
-		this.gameStartTime = System.currentTimeMillis();
+		this.gameStartTime = clock.now();
 		this.inputDelay = Core.getCooldown(INPUT_DELAY);
 		this.inputDelay.reset();
 		if (soundManager.isSoundPlaying(Sound.BGM_MAIN))
@@ -116,7 +179,20 @@ public class GameScreen extends Screen implements Callable<GameLevelState> {
 	 */
 	@Override
 	public final Menu run() {
-		super.run();
+		if (pipelinedRendering && !this.isMultiPlay && !this.replayManager.isHeadless()) {
+			this.renderThread = new RenderThread(this, this.snapshots);
+			this.renderThread.start();
+		}
+		try {
+			super.run();
+		} finally {
+			if (this.drivesClock)
+				clock.resume();
+			if (this.renderThread != null) {
+				this.renderThread.stop();
+				this.renderThread = null;
+			}
+		}
 		gameState.addScore(gameState.getLives());
 		this.logger.info("Screen cleared with a score of " + gameState.getScore());
 		return this.menu;
@@ -127,14 +203,19 @@ public class GameScreen extends Screen implements Callable<GameLevelState> {
 	 */
 	@Override
 	protected final void update() {
+		checkPause();
 		super.update();
+		// The clock stops while paused, so cooldowns don't progress either.
+		if (clock.isPaused())
+			return;
 		if (this.inputDelay.checkFinished() && !gameState.isLevelFinished()) {
-			boolean playerAttacking = inputManager.isKeyDown(KeyEvent.VK_SPACE);
+			// Keys as copied at the start of the frame, so replays see the same.
+			boolean playerAttacking = replayManager.isKeyDown(KeyEvent.VK_SPACE);
 
-			boolean moveRight = inputManager.isKeyDown(KeyEvent.VK_RIGHT)
-					|| inputManager.isKeyDown(KeyEvent.VK_D);
-			boolean moveLeft = inputManager.isKeyDown(KeyEvent.VK_LEFT)
-					|| inputManager.isKeyDown(KeyEvent.VK_A);
+			boolean moveRight = replayManager.isKeyDown(KeyEvent.VK_RIGHT)
+					|| replayManager.isKeyDown(KeyEvent.VK_D);
+			boolean moveLeft = replayManager.isKeyDown(KeyEvent.VK_LEFT)
+					|| replayManager.isKeyDown(KeyEvent.VK_A);
 			gameState.update(playerAttacking, moveRight, moveLeft);
 		}
 
@@ -149,6 +230,10 @@ public class GameScreen extends Screen implements Callable<GameLevelState> {
 			soundManager.stopSound(soundManager.getCurrentBGM());
 			if (gameState.getLives() == 0)
 				soundManager.playSound(Sound.GAME_END);
+			// Build the next level while this one ends. Two player games have no next level.
+			else if (gameState.getLives() > 0 && !this.isMultiPlay)
+				LevelPreloader.getInstance().preload(gameSettings,
+						new GameLevelState(getGameLevelState(), gameSettings), this);
 			gameState.setScreenFinishedCooldown().reset();
 		}
 		// leave this in GameScreen
@@ -160,11 +245,28 @@ public class GameScreen extends Screen implements Callable<GameLevelState> {
 	}
 
 
+	/**
+	 * Pauses or resumes the game when the pause key is pressed. The two player
+	 * screen advances the clock for both games, so they can't be paused alone.
+	 */
+	private void checkPause() {
+		boolean isPauseKeyDown = replayManager.isKeyDown(PAUSE_KEY);
+		if (this.drivesClock && isPauseKeyDown && !this.wasPauseKeyDown) {
+			if (clock.isPaused())
+				clock.resume();
+			else
+				clock.pause();
+		}
+		this.wasPauseKeyDown = isPauseKeyDown;
+	}
+
 	protected void updateEntity(){
 		try {
-			entityList.add(EntityFactory.createGameTitle(this));
+			// Background layer.
+			entityList.add(this.backgroundLayer);
 
-			entityList.addAll(EntityFactory.createLaunchTrajectory(this, gameState.getShip().getPositionX()));
+			this.trajectoryLayer.setPositionX(gameState.getShip().getPositionX() + TRAJECTORY_OFFSET);
+			entityList.add(this.trajectoryLayer);
 
 			entityList.add(gameState.getShip());
 
@@ -199,15 +301,10 @@ public class GameScreen extends Screen implements Callable<GameLevelState> {
 				entityList.addAll(gameState.getBullets());
 
 			// Interface.
-			entityList.add(EntityFactory.createScore(this, gameState.getScore()));
-			entityList.add(EntityFactory.createElapsedTime(this, gameState.getElapsedTime()));
-			entityList.add(EntityFactory.createAlertMessage(this, gameState.getAlertMessage()));
-			entityList.add(EntityFactory.createLivesString(this, gameState.getLives()));
-			entityList.addAll(EntityFactory.createLivesSprites(this, gameState.getLives(), this.shipType));
-			entityList.add(EntityFactory.createLevel(this, this.level));
-			entityList.addAll(EntityFactory.createHorizontalLines(this, SEPARATION_LINE_HEIGHT - 1));
+			entityList.add(hudLayer.update(gameState.getScore(), gameState.getLives(), this.level,
+					gameState.getCombo(), gameState.getAlertMessage()));
+			entityList.add(hudLayer.getElapsedTime(gameState.getElapsedTime()));
 			entityList.add(EntityFactory.createReloadTimer(this, gameState.getShip(), gameState.getShip().getRemainingReloadTime(), this.shipType));
-			entityList.add(EntityFactory.createCombo(this, gameState.getCombo()));
 
 
 			if (this.isMultiPlay && gameState.isLevelFinished() && gameState.setScreenFinishedCooldown().checkFinished() && gameState.getLives() <= 0) {
@@ -221,7 +318,7 @@ public class GameScreen extends Screen implements Callable<GameLevelState> {
 
 			// Countdown to game start.
 			if (!this.inputDelay.checkFinished()) {
-				int countdown = (int) ((INPUT_DELAY - (System.currentTimeMillis() - this.gameStartTime)) / 1000);
+				int countdown = (int) ((INPUT_DELAY - (clock.now() - this.gameStartTime)) / 1000);
 				entityList.addAll(EntityFactory.createCountDown(this, this.level, countdown, gameState.getBonusLife()));
 				entityList.addAll(EntityFactory.createHorizontalLines(this, this.height / 2 - this.height / 12));
 				entityList.addAll(EntityFactory.createHorizontalLines(this, this.height / 2 + this.height / 12));
@@ -240,11 +337,12 @@ public class GameScreen extends Screen implements Callable<GameLevelState> {
 				}
 			}
 
-			entityList.add(EntityFactory.createRecord(this, highScores));
-
 			// Blocker drawing part
 			if (!gameState.getBlockers().isEmpty())
 				entityList.addAll(gameState.getBlockers());
+
+			if (clock.isPaused())
+				entityList.add(EntityFactory.createCenteredBigString(this, "Paused", this.height / 2, Color.WHITE));
 		} catch (Exception e) {
 			entityList.clear();
 			entityList.add(EntityFactory.createCenteredSmallString(this, "", 0, Color.BLACK));
@@ -271,14 +369,43 @@ public class GameScreen extends Screen implements Callable<GameLevelState> {
 	@Override
 	public final GameLevelState call() {
 		this.isMultiPlay = true;
+		// The two player screen advances the clock for both games.
+		this.drivesClock = false;
 		run();
 		return getGameLevelState();
 	}
 
-	public List<Entity> getEntities() {
-		updateEntity();
-		List<Entity> tmpEntities = (List<Entity>) ((ArrayList<Entity>) entityList).clone();
-		entityList.clear();
-		return tmpEntities;
+	/**
+	 * Draws the frame, or publishes it for the render thread or, in two
+	 * player mode, for the two player screen to draw.
+	 */
+	@Override
+	protected void draw() {
+		if (this.isMultiPlay || this.renderThread != null) {
+			this.snapshots.publish(entityList);
+			return;
+		}
+		super.draw();
+	}
+
+	/**
+	 * Sets whether single player games draw each frame on a render thread
+	 * while the next frame is updated.
+	 *
+	 * @param pipelined
+	 *            True to draw on a render thread.
+	 */
+	public static void setPipelinedRendering(final boolean pipelined) {
+		pipelinedRendering = pipelined;
+	}
+
+	/**
+	 * Gets the newest frame of the game in two player mode. Must be called
+	 * from a single drawing thread.
+	 *
+	 * @return Newest frame, or null if none was published yet.
+	 */
+	public RenderSnapshot getSnapshot() {
+		return this.snapshots.latest();
 	}
 }
@@ -0,0 +1,138 @@
+package screen;
+
+import engine.Core;
+import engine.GameLevelState;
+import engine.GameRandom;
+import engine.GameSettings;
+import engine.LevelLayout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * Builds the layout of the next level while the end of the current one
+ * plays out. The seed of the layout is drawn from the game random generator
+ * on the game thread when the level ends, so recorded games replay the
+ * same whether the layout is ready in time or not.
+ */
+final class LevelPreloader {
+
+	/** Singleton instance of the class. */
+	private static LevelPreloader instance;
+
+	/** Thread building the next level. */
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "level-preloader");
+		thread.setDaemon(true);
+		return thread;
+	});
+	/** Application logger. */
+	private final Logger logger = Core.getLogger();
+	/** Layout of the next level being built, null when none is. */
+	private Future<LevelLayout> next;
+	/** Level the layout is built for. */
+	private Level nextLevel;
+
+	/**
+	 * What a layout depends on.
+	 *
+	 * @param gameSettings
+	 *            Current game settings.
+	 * @param level
+	 *            Level number.
+	 * @param formationWidth
+	 *            Width of the formation.
+	 * @param formationHeight
+	 *            Height of the formation.
+	 * @param baseSpeed
+	 *            Speed of the formation.
+	 * @param shootInterval
+	 *            Shooting interval of the formation.
+	 * @param width
+	 *            Width of the game screen.
+	 * @param height
+	 *            Height of the game screen.
+	 */
+	private record Level(GameSettings gameSettings, int level, int formationWidth, int formationHeight,
+			int baseSpeed, int shootInterval, int width, int height) {
+		Level(final GameSettings gameSettings, final GameLevelState gameLevelState, final int width,
+				final int height) {
+			this(gameSettings, gameLevelState.level(), gameLevelState.formationWidth(),
+					gameLevelState.formationHeight(), gameLevelState.baseSpeed(),
+					gameLevelState.shootInterval(), width, height);
+		}
+	}
+
+	/**
+	 * Private constructor.
+	 */
+	private LevelPreloader() {
+	}
+
+	/**
+	 * Returns shared instance of LevelPreloader.
+	 *
+	 * @return Shared instance of LevelPreloader.
+	 */
+	static synchronized LevelPreloader getInstance() {
+		if (instance == null)
+			instance = new LevelPreloader();
+		return instance;
+	}
+
+	/**
+	 * Starts building the layout of the next level in the background. Called
+	 * on the game thread, when the current level ends.
+	 *
+	 * @param gameSettings
+	 *            Current game settings.
+	 * @param gameLevelState
+	 *            State of the game at the start of the next level.
+	 * @param screen
+	 *            Screen with the size of the next game screen.
+	 */
+	synchronized void preload(final GameSettings gameSettings, final GameLevelState gameLevelState,
+			final Screen screen) {
+		long seed = GameRandom.getInstance().getRandom().nextLong();
+		int width = screen.getWidth();
+		int height = screen.getHeight();
+		this.nextLevel = new Level(gameSettings, gameLevelState, width, height);
+		this.next = this.executor.submit(() -> LevelLayout.build(gameSettings, gameLevelState, width, height, seed));
+	}
+
+	/**
+	 * Takes the layout of a level, waiting for it if it is still being built,
+	 * or builds it now if none was for this level.
+	 *
+	 * @param gameSettings
+	 *            Current game settings.
+	 * @param gameLevelState
+	 *            State of the game at the start of the level.
+	 * @param screen
+	 *            Game screen the level is for.
+	 * @return Layout of the level.
+	 */
+	LevelLayout take(final GameSettings gameSettings, final GameLevelState gameLevelState, final Screen screen) {
+		Future<LevelLayout> built;
+		synchronized (this) {
+			built = this.next;
+			this.next = null;
+			if (!new Level(gameSettings, gameLevelState, screen.getWidth(), screen.getHeight()).equals(this.nextLevel))
+				built = null;
+			this.nextLevel = null;
+		}
+		if (built != null) {
+			try {
+				return built.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				logger.warning("Couldn't preload the level: " + e.getCause());
+			}
+		}
+		return LevelLayout.build(gameSettings, gameLevelState, screen.getWidth(), screen.getHeight());
+	}
+}
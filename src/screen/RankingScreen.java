@@ -1,57 +1,28 @@
 package screen;
 
 import engine.*;
-import message.Ranking;
-import message.RankingList;
-import service.RankingService;
+import service.RankingBoard;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
-import java.util.Comparator;
-import java.util.List;
 
 public class RankingScreen extends Screen {
 
     private final SoundManager soundManager = SoundManager.getInstance();
-    private final RankingService rankingService = new RankingService();
-    private List<Ranking> rankings;
-    private boolean isLoading = true;
+    private final RankingBoard rankingBoard = RankingBoard.getInstance();
     private int scrollOffset = 0;
+    /** Whether the ranking scrolls to the player once the rank is known. */
+    private boolean jumpsToPlayer = false;
     private final int rowsPerPage;
     private final GameState gameState;
 
     public RankingScreen(int width, int height, int fps, GameState gameState) {
         super(width, height, fps);
+        this.usesDirtyRendering = true;
         this.rowsPerPage = Math.max(1, height / 70);
         this.gameState = gameState;
-        loadRankings();
-    }
-
-    private void loadRankings() {
-        isLoading = true;
-
-        rankingService.fetchRankings(
-                event -> {
-                    if (event.body() instanceof RankingList response) {
-                        try {
-                            rankings = response.rankings();
-                            if (rankings != null && !rankings.isEmpty())
-                                rankings.sort(Comparator.comparingInt(Ranking::highScore).reversed());
-                            isLoading = false;
-                        } catch (ClassCastException e) {
-                            logger.warning("Invalid data format received from the server.");
-                            isLoading = false;
-                        }
-                    } else {
-                        logger.warning("Failed to parse rankings data.");
-                        isLoading = false;
-                    }
-                },
-                error -> {
-                    logger.warning("Failed to fetch rankings: " + error.message());
-                    isLoading = false;
-                }
-        );
+        // Pages loaded before are shown at once while their changes are asked for.
+        rankingBoard.refresh(scrollOffset, rowsPerPage);
     }
 
     @Override
@@ -67,11 +38,26 @@ public class RankingScreen extends Screen {
         if (inputManager.isKeyDown(KeyEvent.VK_UP) && inputDelay.checkFinished()) {
             scrollOffset = Math.max(0, scrollOffset - 1);
             inputDelay.reset();
+            rankingBoard.load(scrollOffset, rowsPerPage);
         }
 
         if (inputManager.isKeyDown(KeyEvent.VK_DOWN) && inputDelay.checkFinished()) {
-            scrollOffset = Math.min(scrollOffset + 1, Math.max(0, rankings.size() - rowsPerPage));
+            scrollOffset = Math.min(scrollOffset + 1, Math.max(0, rankingBoard.getTotal() - rowsPerPage));
+            inputDelay.reset();
+            rankingBoard.load(scrollOffset, rowsPerPage);
+        }
+
+        if (inputManager.isKeyDown(KeyEvent.VK_SPACE) && inputDelay.checkFinished()) {
+            jumpsToPlayer = true;
             inputDelay.reset();
+            rankingBoard.loadAroundPlayer();
+        }
+
+        int playerRank = rankingBoard.getPlayerRank();
+        if (jumpsToPlayer && playerRank > 0) {
+            jumpsToPlayer = false;
+            scrollOffset = Math.max(0, Math.min(playerRank - 1, rankingBoard.getTotal() - rowsPerPage));
+            rankingBoard.load(scrollOffset, rowsPerPage);
         }
     }
 
@@ -83,12 +69,19 @@ public class RankingScreen extends Screen {
     protected void updateEntity() {
         entityList.clear();
 
-        if (isLoading) {
+        int total = rankingBoard.getTotal();
+        if (total < 0 && !rankingBoard.hasFailed()) {
             entityList.add(EntityFactory.createCenteredBigString(this, "Loading...", Math.round(getHeight() * 0.5f), Color.YELLOW));
-        } else if (rankings == null || rankings.isEmpty()) {
+        } else if (total <= 0) {
             entityList.add(EntityFactory.createCenteredBigString(this, "No rankings available.", Math.round(getHeight() * 0.5f), Color.RED));
         } else {
-            entityList.addAll(EntityFactory.createRankingScreen(this, rankings));
+            entityList.addAll(EntityFactory.createRankingScreen(this, scrollOffset,
+                    rankingBoard.getRows(scrollOffset, rowsPerPage)));
+            int playerRank = rankingBoard.getPlayerRank();
+            String playerString = playerRank > 0 ? "Your rank: " + playerRank + "  -  Press SPACE to jump to it"
+                    : "Press SPACE to find your rank";
+            entityList.add(EntityFactory.createCenteredRegularString(this, playerString,
+                    Math.round(getHeight() * 0.95f), Color.GRAY));
         }
     }
 }
@@ -5,9 +5,6 @@ import entity.Wallet;
 import service.RankingService;
 
 import java.awt.event.KeyEvent;
-import java.io.IOException;
-import java.util.Collections;
-import java.util.List;
 
 /**
  * Implements the score screen.
@@ -17,10 +14,6 @@ import java.util.List;
  */
 public class ScoreScreen extends Screen {
 
-    /**
-     * Maximum number of high scores.
-     */
-    private static final int MAX_HIGH_SCORE_NUM = 3;
     /**
      * Singleton instance of SoundManager
      */
@@ -39,10 +32,6 @@ public class ScoreScreen extends Screen {
      * Total ships destroyed by the player.
      */
     private final int shipsDestroyed;
-    /**
-     * List of past high scores.
-     */
-    private List<Score> highScores;
     /**
      * Checks if current score is a new high score.
      */
@@ -104,12 +93,6 @@ public class ScoreScreen extends Screen {
 
         soundManager.loopSound(Sound.BGM_GAME_OVER);
 
-        try {
-            this.highScores = FileManager.getInstance().loadHighScores();
-        } catch (IOException e) {
-            logger.warning("Couldn't load high scores!");
-        }
-
         saveHighScoreToServer(score);
     }
 
@@ -144,40 +127,7 @@ public class ScoreScreen extends Screen {
      * 중복 방지를 위한 로직 추가.
      */
     private void saveScore() {
-        if (highScores.size() > MAX_HIGH_SCORE_NUM) {
-            int index = 0;
-            for (Score loadScore : highScores) {
-                if (name1.equals(loadScore.name()) && score > loadScore.score()) {
-                    highScores.remove(index);
-                    highScores.add(new Score(name1, score));
-                    break;
-                }
-                index += 1;
-            }
-        } else {
-            boolean checkDuplicate = false;
-            int index = 0;
-            for (Score loadScore : highScores) {
-                if (name1.equals(loadScore.name())) {
-                    checkDuplicate = true;
-                    if (score > loadScore.score()) {
-                        highScores.remove(index);
-                        highScores.add(new Score(name1, score));
-                        break;
-                    }
-                }
-                index += 1;
-            }
-            if (!checkDuplicate) {
-                highScores.add(new Score(name1, score));
-            }
-        }
-        Collections.sort(highScores);
-        try {
-            FileManager.getInstance().saveHighScores(highScores);
-        } catch (IOException e) {
-            logger.warning("Couldn't load high scores!");
-        }
+        HighScoreRepository.getInstance().submit(name1, score);
     }
 
     private void saveHighScoreToServer(int score) {
@@ -18,6 +18,10 @@ public abstract class Screen {
 	
 	/** Milliseconds until the screen accepts user input. */
 	private static final int INPUT_DELAY = 1000;
+	/** Unchanged frames in a row after which the screen goes idle. */
+	private static final int IDLE_AFTER_FRAMES = 30;
+	/** Longest time between frames while idle, in milliseconds. */
+	private static final int IDLE_FRAME_INTERVAL = 250;
 
 	/** Draw Manager instance. */
 	protected Renderer renderer;
@@ -25,6 +29,10 @@ public abstract class Screen {
 	protected InputManager inputManager;
 	/** Application logger. */
 	protected Logger logger;
+	/** Game Clock instance. */
+	protected GameClock clock;
+	/** Replay Manager instance. */
+	protected ReplayManager replayManager;
 
 	/** Screen width. */
 	protected int width;
@@ -39,6 +47,12 @@ public abstract class Screen {
 	protected boolean isRunning;
 	/** What kind of screen goes next. */
 	protected Menu menu;
+	/** If this screen advances the game clock, false when nested in another screen. */
+	protected boolean drivesClock = true;
+	/** If only the regions that changed since the last frame are redrawn, for screens where little moves. */
+	protected boolean usesDirtyRendering = false;
+	/** Unchanged frames in a row, only counted with dirty rendering. */
+	private int stillFrames;
 
 	protected List<Entity> entityList;
 
@@ -60,6 +74,9 @@ public abstract class Screen {
 		this.renderer = Renderer.getInstance();
 		this.inputManager = InputManager.getInstance();
 		this.logger = Core.getLogger();
+		this.clock = GameClock.getInstance();
+		this.replayManager = ReplayManager.getInstance();
+		this.replayManager.advanceFrame(1000 / this.fps);
 		this.inputDelay = Core.getCooldown(INPUT_DELAY);
 		this.inputDelay.reset();
 		this.menu = Menu.MAIN;
@@ -79,11 +96,31 @@ public abstract class Screen {
 	public Menu run() {
 		this.isRunning = true;
 
+		WakeSignal wakeSignal = WakeSignal.getInstance();
 		while (this.isRunning) {
 			long time = System.currentTimeMillis();
+			long wakeCount = wakeSignal.getCount();
 
+			if (this.drivesClock && !this.replayManager.advanceFrame(1000 / this.fps)) {
+				this.isRunning = false;
+				break;
+			}
 			update();
 
+			// Fixed step simulation runs as fast as it can.
+			if (this.drivesClock && !this.clock.isRealTime())
+				continue;
+
+			// Nothing changed for a while, wait for a key press or a server response.
+			if (this.stillFrames >= IDLE_AFTER_FRAMES) {
+				try {
+					wakeSignal.await(wakeCount, IDLE_FRAME_INTERVAL);
+				} catch (InterruptedException e) {
+					return this.menu;
+				}
+				continue;
+			}
+
 			time = (1000 / this.fps) - (System.currentTimeMillis() - time);
 			if (time > 0) {
 				try {
@@ -102,7 +139,8 @@ public abstract class Screen {
 	 */
 	protected void update() {
 		updateEntity();
-		draw();
+		if (!this.replayManager.isHeadless())
+			draw();
 		entityList.clear();
 	}
 
@@ -112,6 +150,11 @@ public abstract class Screen {
 	protected abstract void updateEntity();
 
 	protected void draw() {
+		if (this.usesDirtyRendering) {
+			boolean changed = renderer.drawDirty(this, entityList);
+			this.stillFrames = changed || !this.inputDelay.checkFinished() ? 0 : this.stillFrames + 1;
+			return;
+		}
         renderer.initDrawing(this);
         renderer.drawEntities(entityList);
         renderer.completeDrawing(this);
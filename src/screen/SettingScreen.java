@@ -42,6 +42,7 @@ public class SettingScreen extends Screen {
      */
     public SettingScreen(int width, int height, int fps) {
         super(width, height, fps);
+        this.usesDirtyRendering = true;
         this.volumeLevel = soundManager.getVolume()*10;
         this.selectionCooldown = Core.getCooldown(COOLDOWN_TIME);
     }
@@ -57,6 +57,7 @@ public class ShopScreen extends Screen {
      */
     public ShopScreen(final int width, final int height, final int fps) {
         super(width, height, fps);
+        this.usesDirtyRendering = true;
 
         this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
         this.selectionCooldown.reset();
@@ -34,6 +34,7 @@ public class TitleScreen extends Screen {
 	 */
 	public TitleScreen(final int width, final int height, final int fps) {
 		super(width, height, fps);
+		this.usesDirtyRendering = true;
 
 		// Defaults to play.
 		if (!soundManager.isSoundPlaying(Sound.BGM_MAIN))
@@ -40,7 +40,9 @@ public class TwoPlayerScreen extends Screen {
 
 
     private GameScreen[] gameScreens = new GameScreen[2];
-    private List<Entity>[] playersEntities = new ArrayList[2];
+    private List<Entity>[] playersEntities = new List[2];
+    /** Region of the screen each player's game is drawn in **/
+    private final List<Viewport> viewports;
 
     /**
      * Constructor, establishes the properties of the screen.
@@ -69,6 +71,7 @@ public class TwoPlayerScreen extends Screen {
 
         playersEntities[PLAYER1_NUMBER] = new ArrayList<>();
         playersEntities[PLAYER2_NUMBER] = new ArrayList<>();
+        viewports = Viewport.split(this.width, this.height, playersEntities.length);
         executor = Executors.newFixedThreadPool(2);
         this.menu = Menu.SCORE;
     }
@@ -91,9 +94,9 @@ public class TwoPlayerScreen extends Screen {
     @Override
     protected void draw() {
         renderer.initDrawing(this);
-        renderer.drawEntities(playersEntities[PLAYER1_NUMBER]);
-        renderer.drawEntities(playersEntities[PLAYER2_NUMBER], this.width);
-        renderer.drawVerticalLine(this);
+        for (int playerNumber = 0; playerNumber < playersEntities.length; playerNumber++)
+            renderer.drawEntities(playersEntities[playerNumber], viewports.get(playerNumber));
+        renderer.drawViewportBorders(viewports);
         renderer.completeDrawing(this);
     }
 
@@ -129,8 +132,12 @@ public class TwoPlayerScreen extends Screen {
             logger.warning(e.getMessage());
         }
 
-        playersEntities[PLAYER1_NUMBER] = gameScreens[PLAYER1_NUMBER].getEntities();
-        playersEntities[PLAYER2_NUMBER] = gameScreens[PLAYER2_NUMBER].getEntities();
+        // Keep the last frame of a player until the next game screen publishes one.
+        for (int playerNumber = 0; playerNumber < playersEntities.length; playerNumber++) {
+            RenderSnapshot snapshot = gameScreens[playerNumber].getSnapshot();
+            if (snapshot != null)
+                playersEntities[playerNumber] = snapshot.getEntities();
+        }
         draw();
     }
     /**
@@ -0,0 +1,321 @@
+package service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import engine.Core;
+import engine.FileManager;
+import engine.network.Body;
+import engine.network.ErrorHandler;
+import engine.network.Event;
+import engine.network.EventHandler;
+import engine.network.NetworkManager;
+import message.Error;
+import org.reflections.Reflections;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes waiting to be sent to the server, shared by every service. Writes
+ * are saved to the profile, so those made offline are sent once connected,
+ * even after a restart. Writes of an event waiting in the outbox are merged
+ * into one, so a reconnection sends one request per event. A write keeps the
+ * id of its event until acknowledged, so the server can recognize it when
+ * it is sent again. While writes are waiting, the outbox is drained on a
+ * timer, so they are sent once connected and sent again when late.
+ */
+final class Outbox {
+
+    /** Time after which a write still waiting for the acknowledgement is sent again, in milliseconds. */
+    static final long ACKNOWLEDGEMENT_TIMEOUT = 10000;
+    /** Time between two drains while writes are waiting, in milliseconds. */
+    static final long DRAIN_INTERVAL = 1000;
+
+    /** Singleton instance of the class. */
+    private static Outbox instance;
+    /** Application logger. */
+    private static final Logger logger = Core.getLogger();
+    /** Drains the outboxes with writes waiting. */
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-drain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Sends a write to the server. */
+    @FunctionalInterface
+    interface Sender {
+        /**
+         * Sends the write.
+         *
+         * @param body     Body of the write.
+         * @param id       Id of the write.
+         * @param callback Handler of the response, an error included.
+         */
+        void send(Body body, UUID id, EventHandler callback);
+    }
+
+    /** Keeps the encoded writes. */
+    interface Storage {
+        /**
+         * Loads the writes.
+         *
+         * @return Encoded writes, null if none were saved.
+         */
+        byte[] load();
+
+        /**
+         * Saves the writes.
+         *
+         * @param writes Encoded writes.
+         */
+        void save(byte[] writes);
+    }
+
+    /** Handlers waiting for the acknowledgement. */
+    private record Waiter(EventHandler callback, ErrorHandler errorCallback) { }
+
+    /** Write waiting to be acknowledged. */
+    private static final class Pending {
+        /** Event of the write, its id being the one sent until acknowledged. */
+        private Event event;
+        /** Handlers of the writes merged into this one. */
+        private final List<Waiter> waiters = new ArrayList<>();
+        /** Time the event was last sent, in milliseconds, zero if not sent. */
+        private long sentAt;
+    }
+
+    /** Encodes the writes for the storage. */
+    private final ObjectMapper mapper = new ObjectMapper();
+    /** Keeps the writes. */
+    private final Storage storage;
+    /** Senders, by event name. */
+    private final Map<String, Sender> senders;
+    /** Tells whether the server can be reached. */
+    private final BooleanSupplier connected;
+    /** Writes waiting, by event name, in the order they were first made. */
+    private final Map<String, Pending> pending = new LinkedHashMap<>();
+    /** Time between two drains while writes are waiting, in milliseconds. */
+    private final long drainInterval;
+    /** Drains scheduled while writes are waiting, null when none are. */
+    private ScheduledFuture<?> drainTask;
+
+    /**
+     * Constructor, loads the writes saved.
+     *
+     * @param storage   Keeps the writes.
+     * @param senders   Senders, by event name.
+     * @param connected Tells whether the server can be reached.
+     */
+    Outbox(final Storage storage, final Map<String, Sender> senders, final BooleanSupplier connected) {
+        this(storage, senders, connected, DRAIN_INTERVAL);
+    }
+
+    /**
+     * Constructor, loads the writes saved.
+     *
+     * @param storage       Keeps the writes.
+     * @param senders       Senders, by event name.
+     * @param connected     Tells whether the server can be reached.
+     * @param drainInterval Time between two drains while writes are waiting, in milliseconds.
+     */
+    Outbox(final Storage storage, final Map<String, Sender> senders, final BooleanSupplier connected,
+           final long drainInterval) {
+        this.storage = storage;
+        this.senders = senders;
+        this.connected = connected;
+        this.drainInterval = drainInterval;
+
+        Reflections reflections = new Reflections("message");
+        for (Class<? extends Body> bodyClass : reflections.getSubTypesOf(Body.class))
+            mapper.registerSubtypes(bodyClass);
+
+        byte[] saved = storage.load();
+        if (saved != null) {
+            try {
+                for (Event event : mapper.readValue(saved, new TypeReference<List<Event>>() { })) {
+                    Pending write = new Pending();
+                    write.event = event;
+                    pending.put(event.name(), write);
+                }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to load the outbox.", e);
+            }
+        }
+        synchronized (this) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Returns shared instance of Outbox, sending the writes saved when
+     * connected.
+     *
+     * @return Shared instance of Outbox.
+     */
+    static synchronized Outbox getInstance() {
+        if (instance == null) {
+            Map<String, Sender> senders = new HashMap<>();
+            for (Service service : List.of(new ShopService(), new RankingService()))
+                senders.put(service.getEventName(), service::send);
+
+            FileManager fileManager = FileManager.getInstance();
+            instance = new Outbox(new Storage() {
+                @Override
+                public byte[] load() {
+                    return fileManager.loadOutbox();
+                }
+
+                @Override
+                public void save(final byte[] writes) {
+                    fileManager.saveOutbox(writes);
+                }
+            }, senders, () -> NetworkManager.getInstance().isConnected());
+            instance.drain();
+        }
+        return instance;
+    }
+
+    /**
+     * Stores a write and sends it when connected.
+     *
+     * @param eventName     Event name of the write.
+     * @param body          Body of the write.
+     * @param merge         Merges the body of the write waiting for the event with the newer one.
+     * @param callback      Handler of the acknowledgement.
+     * @param errorCallback Handler of a rejection by the server.
+     */
+    void put(final String eventName, final Body body, final BinaryOperator<Body> merge,
+             final EventHandler callback, final ErrorHandler errorCallback) {
+        synchronized (this) {
+            Pending write = pending.computeIfAbsent(eventName, name -> new Pending());
+            Body merged = write.event == null ? body : merge.apply(write.event.body(), body);
+            // A write changed since sent is a new one, with a new id.
+            if (write.event == null || !merged.equals(write.event.body())) {
+                write.event = new Event(eventName, merged, UUID.randomUUID(), System.currentTimeMillis());
+                write.sentAt = 0;
+            }
+            write.waiters.add(new Waiter(callback, errorCallback));
+            save();
+            scheduleDrain();
+        }
+        drain();
+    }
+
+    /**
+     * Gets the body of the write waiting for an event.
+     *
+     * @param eventName Event name of the write.
+     * @return Body of the write, null if none is waiting.
+     */
+    synchronized Body getPending(final String eventName) {
+        Pending write = pending.get(eventName);
+        return write == null ? null : write.event.body();
+    }
+
+    /**
+     * Sends the writes not sent yet, and those whose acknowledgement is late,
+     * when connected.
+     */
+    void drain() {
+        if (!connected.getAsBoolean())
+            return;
+        long now = System.currentTimeMillis();
+        List<Event> events = new ArrayList<>();
+        synchronized (this) {
+            for (Pending write : pending.values())
+                if (write.sentAt == 0 || now - write.sentAt >= ACKNOWLEDGEMENT_TIMEOUT) {
+                    write.sentAt = now;
+                    events.add(write.event);
+                }
+        }
+
+        for (Event event : events) {
+            Sender sender = senders.get(event.name());
+            if (sender == null) {
+                logger.warning("No sender for the outbox event: " + event.name());
+                continue;
+            }
+            sender.send(event.body(), event.id(), response -> {
+                if (response.body() instanceof Error error)
+                    reject(event, response.id(), error);
+                else
+                    acknowledge(event, response);
+            });
+        }
+    }
+
+    private void acknowledge(final Event event, final Event response) {
+        List<Waiter> waiters;
+        synchronized (this) {
+            Pending write = pending.get(event.name());
+            // Responses carry the id of the request. The write may have changed
+            // since, the newer one is still to be acknowledged.
+            if (write == null || !write.event.id().equals(response.id()))
+                return;
+            pending.remove(event.name());
+            save();
+            scheduleDrain();
+            waiters = write.waiters;
+        }
+        for (Waiter waiter : waiters)
+            waiter.callback().handle(response);
+    }
+
+    private void reject(final Event event, final UUID responseId, final Error error) {
+        List<Waiter> waiters;
+        synchronized (this) {
+            Pending write = pending.get(event.name());
+            // Only an error answering the write waiting drops it, an error
+            // about another request leaves it to be sent again.
+            if (write == null || !write.event.id().equals(responseId))
+                return;
+            // The server answered, sending it again wouldn't change the answer.
+            pending.remove(event.name());
+            save();
+            scheduleDrain();
+            waiters = write.waiters;
+        }
+        logger.warning("Write rejected by the server: " + error.message());
+        for (Waiter waiter : waiters)
+            waiter.errorCallback().handle(error);
+    }
+
+    /**
+     * Drains the outbox on a timer while writes are waiting, and stops once
+     * none are. Called with the lock held.
+     */
+    private void scheduleDrain() {
+        if (pending.isEmpty() && drainTask != null) {
+            drainTask.cancel(false);
+            drainTask = null;
+        } else if (!pending.isEmpty() && drainTask == null) {
+            drainTask = timer.scheduleWithFixedDelay(this::drain, drainInterval, drainInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void save() {
+        List<Event> events = new ArrayList<>();
+        for (Pending write : pending.values())
+            events.add(write.event);
+        try {
+            storage.save(mapper.writeValueAsBytes(events));
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to save the outbox.", e);
+        }
+    }
+}
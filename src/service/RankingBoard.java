@@ -0,0 +1,263 @@
+package service;
+
+import engine.Core;
+import engine.network.Body;
+import message.Error;
+import message.Ranking;
+import message.RankingEntry;
+import message.RankingList;
+import message.RankingPage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Part of the online ranking loaded so far, shared by every ranking screen.
+ * The ranking is loaded a page at a time as it is scrolled through. Each
+ * page remembers the version of the ranking it was loaded from, so that
+ * refreshing it only brings what changed since. Servers that only send the
+ * whole ranking are handled by loading it at once.
+ */
+public final class RankingBoard {
+
+    /** Number of entries in a page. */
+    public static final int PAGE_SIZE = 20;
+    /** Time after which a page still waiting for the server is asked again, in milliseconds. */
+    private static final long REQUEST_TIMEOUT = 5000;
+
+    /** Singleton instance of the class. */
+    private static RankingBoard instance;
+    /** Application logger. */
+    private static final Logger logger = Core.getLogger();
+
+    /** Sends the ranking requests. */
+    private final RankingService rankingService;
+    /** Entries loaded, by rank. */
+    private final Map<Integer, RankingEntry> entries = new HashMap<>();
+    /** Version of the ranking each loaded page is from, by page. */
+    private final Map<Integer, Long> pageVersions = new HashMap<>();
+    /** Time each page waiting for the server was asked, by page. */
+    private final Map<Integer, Long> requestedPages = new HashMap<>();
+    /** Number of entries in the whole ranking, negative until known. */
+    private int total = -1;
+    /** Rank of the player, zero if unknown. */
+    private int playerRank;
+    /** Whether the server answered that it only sends the whole ranking. */
+    private boolean wholeRankingOnly;
+    /** Whether the ranking couldn't be loaded. */
+    private boolean failed;
+
+    /**
+     * Constructor, establishes the service sending the requests.
+     *
+     * @param rankingService Service sending the ranking requests.
+     */
+    RankingBoard(final RankingService rankingService) {
+        this.rankingService = rankingService;
+    }
+
+    /**
+     * Returns shared instance of RankingBoard.
+     *
+     * @return Shared instance of RankingBoard.
+     */
+    public static synchronized RankingBoard getInstance() {
+        if (instance == null)
+            instance = new RankingBoard(new RankingService());
+        return instance;
+    }
+
+    /**
+     * Getter for the number of entries in the whole ranking.
+     *
+     * @return Number of entries, negative until the first page arrives.
+     */
+    public synchronized int getTotal() {
+        return total;
+    }
+
+    /**
+     * Getter for the rank of the player.
+     *
+     * @return Rank of the player, zero if unknown.
+     */
+    public synchronized int getPlayerRank() {
+        return playerRank;
+    }
+
+    /**
+     * Checks if the ranking couldn't be loaded.
+     *
+     * @return True when no page could be loaded.
+     */
+    public synchronized boolean hasFailed() {
+        return failed && total < 0;
+    }
+
+    /**
+     * Gets the entries of a window of the ranking.
+     *
+     * @param offset Index of the first entry, from zero for the best score.
+     * @param count  Number of entries.
+     * @return Entries of the window within the ranking, null for those not loaded yet.
+     */
+    public synchronized List<RankingEntry> getRows(final int offset, final int count) {
+        List<RankingEntry> rows = new ArrayList<>();
+        int end = total < 0 ? offset : Math.min(offset + count, total);
+        for (int rank = offset + 1; rank <= end; rank++)
+            rows.add(entries.get(rank));
+        return rows;
+    }
+
+    /**
+     * Loads the pages of a window of the ranking that aren't loaded yet, and
+     * the page after it.
+     *
+     * @param offset Index of the first entry, from zero for the best score.
+     * @param count  Number of entries.
+     */
+    public void load(final int offset, final int count) {
+        request(offset, count, false);
+    }
+
+    /**
+     * Loads the pages of a window of the ranking, asking for what changed in
+     * those already loaded.
+     *
+     * @param offset Index of the first entry, from zero for the best score.
+     * @param count  Number of entries.
+     */
+    public void refresh(final int offset, final int count) {
+        request(offset, count, true);
+    }
+
+    /**
+     * Loads the page of the ranking around the player.
+     */
+    public void loadAroundPlayer() {
+        rankingService.fetchPageAroundPlayer(PAGE_SIZE, 0, event -> applyPageResponse(event.body()), this::fail);
+    }
+
+    private void request(final int offset, final int count, final boolean refresh) {
+        if (offset < 0 || count <= 0)
+            return;
+        long now = System.currentTimeMillis();
+        Map<Integer, Long> pages = new HashMap<>();
+        boolean wholeRanking;
+        synchronized (this) {
+            wholeRanking = wholeRankingOnly;
+            int lastPage = (offset + count - 1) / PAGE_SIZE + 1;
+            if (total >= 0)
+                lastPage = Math.min(lastPage, Math.max(total - 1, 0) / PAGE_SIZE);
+            for (int page = offset / PAGE_SIZE; page <= lastPage && !wholeRanking; page++) {
+                Long version = pageVersions.get(page);
+                if (version != null && !refresh)
+                    continue;
+                Long requestedAt = requestedPages.get(page);
+                if (requestedAt != null && now - requestedAt < REQUEST_TIMEOUT)
+                    continue;
+                requestedPages.put(page, now);
+                pages.put(page, version == null ? 0 : version);
+            }
+            if (!pages.isEmpty())
+                failed = false;
+        }
+
+        if (wholeRanking) {
+            if (refresh)
+                fetchWholeRanking();
+            return;
+        }
+        for (Map.Entry<Integer, Long> page : pages.entrySet())
+            rankingService.fetchPage(page.getKey() * PAGE_SIZE, PAGE_SIZE, page.getValue(),
+                    event -> applyPageResponse(event.body()), this::fail);
+    }
+
+    private void fetchWholeRanking() {
+        rankingService.fetchRankings(event -> apply(event.body()), error -> {
+            logger.warning("Failed to fetch rankings: " + error.message());
+            synchronized (this) {
+                failed = true;
+            }
+        });
+    }
+
+    /**
+     * Applies a response of the server.
+     *
+     * @param body Page of the ranking, or the whole ranking from servers without pages.
+     */
+    synchronized void apply(final Body body) {
+        if (body instanceof RankingPage page)
+            applyPage(page);
+        else if (body instanceof RankingList list)
+            applyWholeRanking(list);
+        else
+            logger.warning("Failed to parse rankings data.");
+    }
+
+    /**
+     * Applies the response of the server to a page query.
+     *
+     * @param body Page of the ranking, or the whole ranking from servers without pages.
+     */
+    synchronized void applyPageResponse(final Body body) {
+        // Servers without pages ignore the query and send the whole ranking.
+        if (body instanceof RankingList)
+            wholeRankingOnly = true;
+        apply(body);
+    }
+
+    private void applyPage(final RankingPage page) {
+        total = page.total();
+        if (page.playerRank() > 0)
+            playerRank = page.playerRank();
+
+        if (!page.delta())
+            for (int rank = page.firstRank(); rank <= page.lastRank(); rank++)
+                entries.remove(rank);
+        if (page.entries() != null)
+            for (RankingEntry entry : page.entries())
+                entries.put(entry.rank(), entry);
+        entries.keySet().removeIf(rank -> rank > total);
+
+        // Pages fully covered by the response are up to date.
+        int firstPage = (page.firstRank() + PAGE_SIZE - 2) / PAGE_SIZE;
+        for (int index = firstPage; index * PAGE_SIZE < total
+                && Math.min((index + 1) * PAGE_SIZE, total) <= page.lastRank(); index++) {
+            pageVersions.put(index, page.version());
+            requestedPages.remove(index);
+        }
+        if (total == 0) {
+            pageVersions.put(0, page.version());
+            requestedPages.remove(0);
+        }
+    }
+
+    private void applyWholeRanking(final RankingList list) {
+        List<Ranking> rankings = list.rankings() == null ? List.of() : new ArrayList<>(list.rankings());
+        rankings.sort(Comparator.comparingInt(Ranking::highScore).reversed());
+
+        entries.clear();
+        requestedPages.clear();
+        total = rankings.size();
+        for (int i = 0; i < rankings.size(); i++)
+            entries.put(i + 1, new RankingEntry(i + 1, rankings.get(i).username(), rankings.get(i).highScore()));
+    }
+
+    /**
+     * Handles an error answering a page query. The pages are asked again on
+     * the next load or refresh.
+     *
+     * @param error Error sent by the server.
+     */
+    synchronized void fail(final Error error) {
+        requestedPages.clear();
+        failed = true;
+        logger.warning("Failed to fetch a ranking page: " + error.message());
+    }
+}
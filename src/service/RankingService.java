@@ -4,31 +4,65 @@ import engine.network.EventHandler;
 import engine.network.ErrorHandler;
 import message.HighScore;
 import message.Ranking;
+import message.RankingQuery;
 
 public class RankingService extends Service {
 
+    /** Time rankings are served without asking the server, in milliseconds. */
+    private static final long RANKINGS_TIME_TO_LIVE = 30000;
+
     public RankingService() {
         super("ranking");
     }
 
     /**
-     * Fetches rankings from the server.
+     * Fetches rankings from the server, or from the cache while they are
+     * recent. Stale rankings are handed over at once, then again refreshed.
      *
      * @param successHandler Handler for successful responses.
      * @param errorHandler   Handler for errors.
      */
     public void fetchRankings(EventHandler successHandler, ErrorHandler errorHandler) {
-        request(null, successHandler, errorHandler);
+        cachedRequest(null, RANKINGS_TIME_TO_LIVE, successHandler, errorHandler);
+    }
+
+    /**
+     * Fetches a page of the ranking from the server.
+     *
+     * @param offset         Index of the first entry, from zero for the best score.
+     * @param limit          Maximum number of entries.
+     * @param version        Version of the ranking already loaded, zero for none.
+     * @param successHandler Handler for successful responses.
+     * @param errorHandler   Handler for errors.
+     */
+    public void fetchPage(int offset, int limit, long version, EventHandler successHandler, ErrorHandler errorHandler) {
+        send(new RankingQuery(offset, limit, false, version), successHandler, errorHandler);
+    }
+
+    /**
+     * Fetches the page of the ranking around the player from the server.
+     *
+     * @param limit          Maximum number of entries.
+     * @param version        Version of the ranking already loaded, zero for none.
+     * @param successHandler Handler for successful responses.
+     * @param errorHandler   Handler for errors.
+     */
+    public void fetchPageAroundPlayer(int limit, long version, EventHandler successHandler, ErrorHandler errorHandler) {
+        send(new RankingQuery(0, limit, true, version), successHandler, errorHandler);
     }
 
     /**
-     * Saves a ranking to the server.
+     * Saves a ranking to the server, through the outbox when offline. Only
+     * the best score waiting in the outbox is sent.
      *
      * @param score          The new high score to save.
      */
     public void saveRanking(int score, EventHandler callback, ErrorHandler errorHandler) {
 
         HighScore highScore = new HighScore(score);
-        request(highScore, callback, errorHandler);
+        store(highScore, (older, newer) ->
+                ((HighScore) newer).score() > ((HighScore) older).score() ? newer : older,
+                callback, errorHandler);
+        invalidateCache();
     }
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+package service;
+
+import engine.network.Body;
+import engine.network.ErrorHandler;
+import engine.network.Event;
+import engine.network.EventHandler;
+import message.Error;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the last response of read requests, shared by every service.
+ * A response younger than its time to live is served without asking the
+ * server. An older one is served at once and refreshed in the background,
+ * and the refreshed response is handed over too. Identical requests made
+ * while one is waiting for the server share its response.
+ */
+final class ResponseCache {
+
+    /** Time after which a request still waiting for the server is sent again, in milliseconds. */
+    static final long IN_FLIGHT_TIMEOUT = 10000;
+
+    /** Singleton instance of the class. */
+    private static ResponseCache instance;
+
+    /** Sends a request to the server. */
+    @FunctionalInterface
+    interface Fetch {
+        /**
+         * Sends the request.
+         *
+         * @param id            Id of the request.
+         * @param callback      Handler of the response.
+         * @param errorCallback Handler of an error.
+         */
+        void send(UUID id, EventHandler callback, ErrorHandler errorCallback);
+    }
+
+    /** Event name and body of a request. */
+    private record Key(String eventName, Body body) { }
+
+    /** Handlers waiting for a response. */
+    private record Waiter(EventHandler callback, ErrorHandler errorCallback) { }
+
+    /** Cached response and requests waiting for the server. */
+    private static final class Entry {
+        /** Last response, null if none or invalidated. */
+        private Event response;
+        /** Time the last response arrived, in milliseconds. */
+        private long fetchedAt;
+        /** Handlers waiting for the request sent, null if none is sent. */
+        private List<Waiter> waiters;
+        /** Time the request waited for was sent, in milliseconds. */
+        private long sentAt;
+        /** Incremented on invalidation, so an older response isn't cached. */
+        private int generation;
+    }
+
+    /** Entries by request. */
+    private final Map<Key, Entry> entries = new HashMap<>();
+
+    /**
+     * Package-private constructor.
+     */
+    ResponseCache() {
+    }
+
+    /**
+     * Returns shared instance of ResponseCache.
+     *
+     * @return Shared instance of ResponseCache.
+     */
+    static synchronized ResponseCache getInstance() {
+        if (instance == null)
+            instance = new ResponseCache();
+        return instance;
+    }
+
+    /**
+     * Answers a request from the cache, or through the server.
+     *
+     * @param eventName     Event name of the request.
+     * @param body          Body of the request.
+     * @param timeToLive    Time a response is served without asking the server, in milliseconds.
+     * @param fetch         Sends the request to the server.
+     * @param callback      Handler of the response, called again when a stale response is refreshed.
+     * @param errorCallback Handler of an error, not called when a stale response was served.
+     */
+    void get(final String eventName, final Body body, final long timeToLive, final Fetch fetch,
+             final EventHandler callback, final ErrorHandler errorCallback) {
+        Key key = new Key(eventName, body);
+        long now = System.currentTimeMillis();
+        Event cached;
+        boolean send;
+        int generation;
+        synchronized (this) {
+            Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+            cached = entry.response;
+            if (cached != null && now - entry.fetchedAt < timeToLive) {
+                send = false;
+            } else {
+                send = entry.waiters == null || now - entry.sentAt >= IN_FLIGHT_TIMEOUT;
+                if (send) {
+                    entry.waiters = new ArrayList<>();
+                    entry.sentAt = now;
+                }
+                entry.waiters.add(cached == null ? new Waiter(callback, errorCallback)
+                        : new Waiter(callback, error -> { }));
+            }
+            generation = entry.generation;
+        }
+
+        if (cached != null)
+            callback.handle(cached);
+        if (send) {
+            UUID id = UUID.randomUUID();
+            fetch.send(id, event -> complete(key, generation, id, event), error -> fail(key, error));
+        }
+    }
+
+    /**
+     * Drops the responses of every request of an event, after a write that
+     * changes them.
+     *
+     * @param eventName Event name of the requests.
+     */
+    synchronized void invalidate(final String eventName) {
+        for (Map.Entry<Key, Entry> entry : entries.entrySet())
+            if (entry.getKey().eventName().equals(eventName)) {
+                entry.getValue().response = null;
+                entry.getValue().generation++;
+            }
+    }
+
+    private void complete(final Key key, final int generation, final UUID id, final Event event) {
+        // Only the response to the request sent answers it, another request's
+        // response of the same event name is never cached under its key.
+        if (!id.equals(event.id()))
+            return;
+        List<Waiter> waiters;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry.generation == generation) {
+                entry.response = event;
+                entry.fetchedAt = System.currentTimeMillis();
+            }
+            waiters = entry.waiters;
+            entry.waiters = null;
+        }
+        if (waiters != null)
+            for (Waiter waiter : waiters)
+                waiter.callback().handle(event);
+    }
+
+    private void fail(final Key key, final Error error) {
+        List<Waiter> waiters;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            waiters = entry.waiters;
+            entry.waiters = null;
+        }
+        if (waiters != null)
+            for (Waiter waiter : waiters)
+                waiter.errorCallback().handle(error);
+    }
+}
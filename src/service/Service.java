@@ -6,6 +6,7 @@ import engine.network.*;
 import message.Error;
 
 import java.util.UUID;
+import java.util.function.BinaryOperator;
 
 public abstract class Service {
     protected NetworkManager networkManager = NetworkManager.getInstance();
@@ -22,10 +23,100 @@ public abstract class Service {
     protected void request(Body body, EventHandler callback, ErrorHandler errorCallback) {
         if (!requestCooldown.checkFinished()) return;
         if (networkManager.isRequested(requestId)) return;
-        requestId = networkManager.sendEvent(eventName, body);
-        networkManager.registerEventHandler(eventName, event -> {
+        send(body, callback, errorCallback);
+    }
+
+    /**
+     * Sends a read request through the response cache shared by every service.
+     * Identical requests waiting for the server are sent only once.
+     *
+     * @param body          Body of the request.
+     * @param timeToLive    Time a response is served without asking the server, in milliseconds.
+     * @param callback      Handler of the response, called again when a stale response is refreshed.
+     * @param errorCallback Handler of an error.
+     */
+    protected void cachedRequest(Body body, long timeToLive, EventHandler callback, ErrorHandler errorCallback) {
+        ResponseCache.getInstance().get(eventName, body, timeToLive,
+                (id, onResponse, onError) -> send(body, id, onResponse, onError), callback, errorCallback);
+    }
+
+    /**
+     * Stores a write in the outbox shared by every service, which sends it
+     * once connected and keeps it until the server acknowledges it. A write
+     * waiting in the outbox is merged with the next one of this service.
+     *
+     * @param body          Body of the write.
+     * @param merge         Merges the body waiting in the outbox with a newer one.
+     * @param callback      Handler of the acknowledgement.
+     * @param errorCallback Handler of a rejection by the server.
+     */
+    protected void store(Body body, BinaryOperator<Body> merge, EventHandler callback, ErrorHandler errorCallback) {
+        Outbox.getInstance().put(eventName, body, merge, callback, errorCallback);
+    }
+
+    /**
+     * Gets the body of the write of this service waiting in the outbox.
+     *
+     * @return Body of the write, null if none is waiting.
+     */
+    protected Body getStored() {
+        return Outbox.getInstance().getPending(eventName);
+    }
+
+    /**
+     * Getter for the event name of the requests.
+     *
+     * @return Event name of the requests.
+     */
+    String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * Drops the cached responses of this service's event, after a write.
+     */
+    protected void invalidateCache() {
+        ResponseCache.getInstance().invalidate(eventName);
+    }
+
+    /**
+     * Sends a request without the cooldown, for requests that pace themselves.
+     *
+     * @param body          Body of the request.
+     * @param callback      Handler of the response.
+     * @param errorCallback Handler of an error.
+     */
+    protected void send(Body body, EventHandler callback, ErrorHandler errorCallback) {
+        send(body, UUID.randomUUID(), callback, errorCallback);
+    }
+
+    /**
+     * Sends a request with a given id, so that the server applies a request
+     * sent again once.
+     *
+     * @param body          Body of the request.
+     * @param id            Id of the request.
+     * @param callback      Handler of the response.
+     * @param errorCallback Handler of an error.
+     */
+    void send(Body body, UUID id, EventHandler callback, ErrorHandler errorCallback) {
+        send(body, id, event -> {
             if (event.body() instanceof Error e) errorCallback.handle(e);
             else callback.handle(event);
+        });
+    }
+
+    /**
+     * Sends a request with a given id, handing over its response whatever
+     * it is. Only the response carrying the id of the request is handed over.
+     *
+     * @param body     Body of the request.
+     * @param id       Id of the request.
+     * @param callback Handler of the response, an error included.
+     */
+    void send(Body body, UUID id, EventHandler callback) {
+        requestId = networkManager.sendEvent(eventName, body, id, event -> {
+            callback.handle(event);
             requestCooldown.reset();
         });
     }
@@ -1,19 +1,41 @@
 package service;
 
+import engine.network.Body;
 import engine.network.ErrorHandler;
+import engine.network.Event;
 import engine.network.EventHandler;
 import message.Wallet;
 
+import java.util.UUID;
+
 public class ShopService extends Service {
+    /** Time the wallet is served without asking the server, in milliseconds. */
+    private static final long WALLET_TIME_TO_LIVE = 60000;
+
     public ShopService() {
         super("shop");
     }
 
+    /**
+     * Saves the wallet to the server, through the outbox when offline. Only
+     * the last wallet waiting in the outbox is sent.
+     */
     public void saveShop(int coin, int bulletLevel, int shootLevel, int livesLevel, int coinLevel, EventHandler callback, ErrorHandler errorHandler) {
-        request(new Wallet(coin, bulletLevel, shootLevel, livesLevel, coinLevel), callback, errorHandler);
+        store(new Wallet(coin, bulletLevel, shootLevel, livesLevel, coinLevel), (older, newer) -> newer,
+                callback, errorHandler);
+        invalidateCache();
     }
 
+    /**
+     * Fetches the wallet from the server, or the one waiting in the outbox,
+     * newer than the server's.
+     */
     public void callShop(EventHandler callback, ErrorHandler errorHandler) {
-        request(null, callback, errorHandler);
+        Body stored = getStored();
+        if (stored != null) {
+            callback.handle(new Event(getEventName(), stored, UUID.randomUUID(), System.currentTimeMillis()));
+            return;
+        }
+        cachedRequest(null, WALLET_TIME_TO_LIVE, callback, errorHandler);
     }
 }
@@ -0,0 +1,80 @@
+package engine;
+
+import entity.Achievement;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AchievementJournalTest {
+
+    private static AchievementJournal open(final Path file, final PersistenceService persistence)
+            throws IOException {
+        AchievementJournal journal = new AchievementJournal(file, persistence);
+        if (!journal.recover())
+            journal.reset(new Achievement(0, 0, 0, 0, false));
+        return journal;
+    }
+
+    @Test
+    void recover_ReplaysUpdatesAfterSnapshot() throws IOException {
+        Path directory = Files.createTempDirectory("journal");
+        Path file = directory.resolve("achievement.journal");
+        PersistenceService persistence = new PersistenceService(new ProfileStore(directory.resolve("profile")));
+        AchievementJournal journal = open(file, persistence);
+        journal.record(List.of(new AchievementJournal.LevelPlayed(1, 30, 12, 0.5, 1),
+                new AchievementJournal.LevelPlayed(2, 40, 15, 0.75, 1)));
+        journal.record(List.of(new AchievementJournal.LevelPlayed(1, 20, 8, 0.25, 1),
+                new AchievementJournal.GamePlayed(4200, false)));
+        persistence.flush(5000);
+
+        AchievementJournal recovered = new AchievementJournal(file, persistence);
+        assertTrue(recovered.recover());
+        Achievement achievement = recovered.getAchievement();
+        assertEquals(90, achievement.getTotalPlayTime());
+        assertEquals(4200, achievement.getTotalScore());
+        assertEquals(15, achievement.maxCombo);
+        assertEquals(1, achievement.currentPerfectStage);
+        assertEquals(new LevelStatistics(2, 50, 12, 0.5), recovered.getLevelStatistics().get(1));
+    }
+
+    @Test
+    void recover_DropsTornTail() throws IOException {
+        Path directory = Files.createTempDirectory("journal");
+        Path file = directory.resolve("achievement.journal");
+        PersistenceService persistence = new PersistenceService(new ProfileStore(directory.resolve("profile")));
+        AchievementJournal journal = open(file, persistence);
+        journal.record(List.of(new AchievementJournal.GamePlayed(100, false)));
+        persistence.flush(5000);
+        long size = Files.size(file);
+        Files.write(file, new byte[] {0, 0, 0, 9, 1, 2}, StandardOpenOption.APPEND);
+
+        AchievementJournal recovered = new AchievementJournal(file, persistence);
+        assertTrue(recovered.recover());
+        assertEquals(100, recovered.getAchievement().getTotalScore());
+        assertEquals(size, Files.size(file));
+    }
+
+    @Test
+    void record_CompactsIntoSnapshot() throws IOException {
+        Path directory = Files.createTempDirectory("journal");
+        Path file = directory.resolve("achievement.journal");
+        PersistenceService persistence = new PersistenceService(new ProfileStore(directory.resolve("profile")));
+        AchievementJournal journal = open(file, persistence);
+        persistence.flush(5000);
+        long snapshotSize = Files.size(file);
+        for (int i = 0; i < AchievementJournal.COMPACTION_THRESHOLD; i++)
+            journal.record(List.of(new AchievementJournal.GamePlayed(1, false)));
+        persistence.flush(5000);
+
+        assertEquals(snapshotSize, Files.size(file));
+        AchievementJournal recovered = new AchievementJournal(file, persistence);
+        assertTrue(recovered.recover());
+        assertEquals(AchievementJournal.COMPACTION_THRESHOLD, recovered.getAchievement().getTotalScore());
+    }
+}
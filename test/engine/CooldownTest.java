@@ -1,5 +1,6 @@
 package engine;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -15,6 +16,12 @@ class CooldownTest {
         testCooldown = new Cooldown(TEST_COOLDOWN);
     }
 
+    @AfterEach
+    void tearDown() {
+        // Later tests expect the shared clock to follow the wall clock.
+        GameClock.getInstance().reset();
+    }
+
     @Test
     void checkFinished() throws InterruptedException {
         sleep(TEST_COOLDOWN);
@@ -26,4 +33,19 @@ class CooldownTest {
         testCooldown.reset();
         assertFalse(testCooldown.checkFinished());
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkFinished_FollowsGameClock() {
+        GameClock clock = GameClock.getInstance();
+        clock.setMode(GameClock.Mode.FIXED_STEP);
+        testCooldown.reset();
+        clock.tick(TEST_COOLDOWN / 2);
+        assertFalse(testCooldown.checkFinished());
+        clock.pause();
+        clock.tick(TEST_COOLDOWN);
+        assertFalse(testCooldown.checkFinished());
+        clock.resume();
+        clock.tick(TEST_COOLDOWN);
+        assertTrue(testCooldown.checkFinished());
+    }
+}
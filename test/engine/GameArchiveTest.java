@@ -0,0 +1,51 @@
+package engine;
+
+import entity.Ship;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameArchiveTest {
+
+    private static GameArchive.GameRecord game(final long playedAt, final Ship.ShipType shipType, final int score) {
+        return new GameArchive.GameRecord(playedAt, shipType, 3, score, 0, 20, 40, 5, 60000);
+    }
+
+    @Test
+    void getTopScores_ReadsIndexAfterReopening() throws IOException {
+        Path directory = Files.createTempDirectory("archive");
+        PersistenceService persistence = new PersistenceService(new ProfileStore(directory.resolve("profile")));
+        GameArchive archive = new GameArchive(directory.resolve("games.archive"), persistence);
+        // More games than the initial capacity, to grow the mapping.
+        for (int i = 0; i < 1500; i++)
+            archive.add(game(1000 + i, Ship.ShipType.values()[i % 4], (i * 37) % 1000));
+        persistence.flush(5000);
+
+        GameArchive reopened = new GameArchive(directory.resolve("games.archive"), persistence);
+        assertEquals(1500, reopened.size());
+        List<GameArchive.GameRecord> top = reopened.getTopScores(3);
+        assertEquals(999, top.get(0).score());
+        assertTrue(top.get(0).score() >= top.get(1).score() && top.get(1).score() >= top.get(2).score());
+        for (GameArchive.GameRecord record : reopened.getTopScores(5, Ship.ShipType.VOID_REAPER))
+            assertEquals(Ship.ShipType.VOID_REAPER, record.shipType());
+        assertEquals(375, reopened.getTotals(Ship.ShipType.STAR_DEFENDER).games());
+        assertEquals(1500, reopened.getTotals().games());
+    }
+
+    @Test
+    void getPlayedBetween_FindsPeriodByDate() throws IOException {
+        Path directory = Files.createTempDirectory("archive");
+        PersistenceService persistence = new PersistenceService(new ProfileStore(directory.resolve("profile")));
+        GameArchive archive = new GameArchive(directory.resolve("games.archive"), persistence);
+        for (int i = 0; i < 10; i++)
+            archive.add(game(i * 100, Ship.ShipType.STAR_DEFENDER, i));
+
+        List<GameArchive.GameRecord> games = archive.getPlayedBetween(250, 600);
+        assertEquals(List.of(3, 4, 5), games.stream().map(GameArchive.GameRecord::score).toList());
+    }
+}
@@ -0,0 +1,43 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistenceServiceTest {
+
+    @Test
+    void save_IsReadBackBeforeAndAfterFlush() throws IOException {
+        Path file = Files.createTempDirectory("profile").resolve("profile");
+        PersistenceService persistence = new PersistenceService(new ProfileStore(file));
+        persistence.save("a", new byte[] {1});
+        persistence.save("a", new byte[] {2});
+        persistence.save("b", new byte[] {3});
+        assertArrayEquals(new byte[] {2}, persistence.get("a"));
+
+        persistence.flush(5000);
+        ProfileStore reopened = new ProfileStore(file);
+        assertArrayEquals(new byte[] {2}, reopened.get("a"));
+        assertArrayEquals(new byte[] {3}, reopened.get("b"));
+    }
+
+    @Test
+    void flush_RetriesFailedCommits() throws IOException {
+        Path directory = Files.createTempDirectory("profile");
+        // A file where the profile's directory should be makes commits fail.
+        Path blocker = Files.createFile(directory.resolve("data"));
+        Path file = blocker.resolve("profile");
+        PersistenceService persistence = new PersistenceService(new ProfileStore(file));
+        persistence.save("a", new byte[] {1});
+        assertFalse(persistence.flush(300));
+        assertArrayEquals(new byte[] {1}, persistence.get("a"));
+
+        Files.delete(blocker);
+        assertTrue(persistence.flush(5000));
+        assertArrayEquals(new byte[] {1}, new ProfileStore(file).get("a"));
+    }
+}
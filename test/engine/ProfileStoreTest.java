@@ -0,0 +1,54 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileStoreTest {
+
+    @Test
+    void commit_KeepsOtherRecordsAndSurvivesReopening() throws IOException {
+        Path file = Files.createTempDirectory("profile").resolve("profile");
+        ProfileStore store = new ProfileStore(file);
+        store.commit(Map.of("a", new byte[] {1, 2}, "b", new byte[] {3}));
+        store.commit(Map.of("b", new byte[] {4, 5, 6}));
+
+        ProfileStore reopened = new ProfileStore(file);
+        assertArrayEquals(new byte[] {1, 2}, reopened.get("a"));
+        assertArrayEquals(new byte[] {4, 5, 6}, reopened.get("b"));
+        assertNull(reopened.get("c"));
+        assertFalse(Files.exists(file.resolveSibling("profile.tmp")));
+    }
+
+    @Test
+    void decode_RejectsDamagedProfile() throws IOException {
+        byte[] content = ProfileStore.encode(Map.of("a", new byte[] {1, 2, 3}));
+        content[content.length - 6] ^= 1;
+
+        assertThrows(IOException.class, () -> ProfileStore.decode(content));
+    }
+
+    @Test
+    void get_ReadsDamagedProfileAsEmpty() throws IOException {
+        Path file = Files.createTempDirectory("profile").resolve("profile");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        assertNull(new ProfileStore(file).get("a"));
+    }
+
+    @Test
+    void commit_MovesDamagedProfileAside() throws IOException {
+        Path file = Files.createTempDirectory("profile").resolve("profile");
+        byte[] damaged = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+        Files.write(file, damaged);
+
+        new ProfileStore(file).commit(Map.of("a", new byte[] {1}));
+        assertArrayEquals(damaged, Files.readAllBytes(file.resolveSibling("profile.corrupt")));
+        assertArrayEquals(new byte[] {1}, new ProfileStore(file).get("a"));
+    }
+}
@@ -0,0 +1,82 @@
+package engine;
+
+import entity.Entity;
+import entity.ImageEntity;
+import entity.SpriteEntity;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotExchangeTest {
+
+    @Test
+    void latest_ReturnsNullBeforeFirstFrame() {
+        assertNull(new SnapshotExchange().latest());
+    }
+
+    @Test
+    void latest_KeepsCopiesWhileOriginalsChange() {
+        SnapshotExchange exchange = new SnapshotExchange();
+        SpriteEntity sprite = new SpriteEntity(10, 20, 4, 4, Color.WHITE);
+        exchange.publish(List.<Entity>of(sprite));
+
+        RenderSnapshot snapshot = exchange.latest();
+        sprite.setPositionX(30);
+
+        Entity copy = snapshot.getEntities().get(0);
+        assertNotSame(sprite, copy);
+        assertEquals(10, copy.getPositionX());
+        assertSame(snapshot, exchange.latest());
+    }
+
+    @Test
+    void latest_SkipsToNewestFrame() {
+        SnapshotExchange exchange = new SnapshotExchange();
+        SpriteEntity sprite = new SpriteEntity(0, 0, 4, 4, Color.WHITE);
+        for (int x = 1; x <= 3; x++) {
+            sprite.setPositionX(x);
+            exchange.publish(List.<Entity>of(sprite));
+        }
+
+        assertEquals(3, exchange.latest().getEntities().get(0).getPositionX());
+    }
+
+    @Test
+    void awaitNewer_WakesWhenFramePublished() throws InterruptedException {
+        SnapshotExchange exchange = new SnapshotExchange();
+        assertNull(exchange.awaitNewer(10));
+
+        Thread publisher = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                return;
+            }
+            exchange.publish(List.<Entity>of(new SpriteEntity(7, 0, 4, 4, Color.WHITE)));
+        });
+        publisher.start();
+
+        RenderSnapshot snapshot = exchange.awaitNewer(5000);
+        publisher.join();
+        assertEquals(7, snapshot.getEntities().get(0).getPositionX());
+    }
+
+    @Test
+    void isDrawing_FindsImagesOfTakenAndWaitingFrames() {
+        SnapshotExchange exchange = new SnapshotExchange();
+        BufferedImage drawn = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage waiting = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage free = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+        exchange.publish(List.<Entity>of(new ImageEntity(0, 0, Color.WHITE, 4, 4, drawn)));
+        exchange.latest();
+        exchange.publish(List.<Entity>of(new ImageEntity(0, 0, Color.WHITE, 4, 4, waiting)));
+
+        assertTrue(exchange.isDrawing(drawn));
+        assertTrue(exchange.isDrawing(waiting));
+        assertFalse(exchange.isDrawing(free));
+    }
+}
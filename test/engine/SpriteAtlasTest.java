@@ -0,0 +1,61 @@
+package engine;
+
+import engine.Renderer.SpriteType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpriteAtlasTest {
+
+    private static Map<SpriteType, SpriteMask> parseGraphics() throws IOException {
+        try (InputStream inputStream = SpriteAtlasTest.class.getClassLoader()
+                .getResourceAsStream(SpriteAtlas.GRAPHICS_RESOURCE)) {
+            assertNotNull(inputStream);
+            return SpriteAtlas.parseGraphics(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void read_ReturnsWrittenSprites() throws IOException {
+        Map<SpriteType, SpriteMask> sprites = parseGraphics();
+        ByteArrayOutputStream atlas = new ByteArrayOutputStream();
+        SpriteAtlas.write(sprites, atlas);
+
+        Map<SpriteType, SpriteMask> read = SpriteAtlas.read(new ByteArrayInputStream(atlas.toByteArray()));
+
+        assertEquals(sprites.keySet(), read.keySet());
+        for (SpriteType spriteType : sprites.keySet()) {
+            assertEquals(sprites.get(spriteType).width(), read.get(spriteType).width());
+            assertEquals(sprites.get(spriteType).height(), read.get(spriteType).height());
+            assertArrayEquals(sprites.get(spriteType).bits(), read.get(spriteType).bits());
+        }
+    }
+
+    @Test
+    void parseGraphics_ReadsSpritesByColumn() throws IOException {
+        SpriteMask bullet = parseGraphics().get(SpriteType.BULLET_TYPE_1);
+
+        // "100001111110000", five pixels per column.
+        assertEquals(3, bullet.width());
+        assertEquals(5, bullet.height());
+        assertTrue(bullet.isSet(0, 0));
+        assertFalse(bullet.isSet(0, 1));
+        assertTrue(bullet.isSet(1, 4));
+        assertTrue(bullet.isSet(2, 0));
+        assertFalse(bullet.isSet(2, 1));
+    }
+
+    @Test
+    void read_RejectsOtherFiles() {
+        assertThrows(IOException.class,
+                () -> SpriteAtlas.read(new ByteArrayInputStream("graphics".getBytes(StandardCharsets.UTF_8))));
+    }
+}
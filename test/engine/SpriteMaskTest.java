@@ -0,0 +1,47 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpriteMaskTest {
+
+    @Test
+    void overlaps_OnlyWhenLitPixelsMeet() {
+        // Hollow square, lit on its border only.
+        boolean[][] square = new boolean[4][4];
+        for (int i = 0; i < 4; i++) {
+            square[i][0] = square[i][3] = true;
+            square[0][i] = square[3][i] = true;
+        }
+        SpriteMask hollow = SpriteMask.of(square);
+        SpriteMask dot = SpriteMask.of(new boolean[][] {{true}});
+
+        assertFalse(SpriteMask.overlaps(hollow, 0, 0, dot, 1, 1));
+        assertTrue(SpriteMask.overlaps(hollow, 0, 0, dot, 3, 2));
+        assertFalse(SpriteMask.overlaps(hollow, 0, 0, dot, 4, 0));
+    }
+
+    @Test
+    void overlaps_ComparesAcrossWordBoundaries() {
+        boolean[][] wide = new boolean[100][1];
+        wide[70][0] = true;
+        SpriteMask line = SpriteMask.of(wide);
+        SpriteMask dot = SpriteMask.of(new boolean[][] {{true}});
+
+        assertTrue(SpriteMask.overlaps(line, -5, 0, dot, 65, 0));
+        assertFalse(SpriteMask.overlaps(line, -5, 0, dot, 64, 0));
+        assertTrue(SpriteMask.overlaps(dot, 65, 0, line, -5, 0));
+    }
+
+    @Test
+    void doubled_CoversTwoByTwoPixels() {
+        SpriteMask doubled = SpriteMask.of(new boolean[][] {{false, true}}).doubled();
+
+        assertEquals(2, doubled.width());
+        assertEquals(4, doubled.height());
+        assertFalse(doubled.isSet(1, 1));
+        assertTrue(doubled.isSet(0, 2));
+        assertTrue(doubled.isSet(1, 3));
+    }
+}
@@ -0,0 +1,61 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Compares drawing a frame of sprites through Java2D with the software
+ * rasterizer. Run its main method, it is not part of the test suite.
+ */
+public final class SpriteRasterizerBenchmark {
+
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 650;
+    private static final int SPRITES = 200;
+    private static final int FRAMES = 2000;
+
+    public static void main(final String[] args) {
+        Random random = new Random(42);
+        boolean[][] sprite = new boolean[12][8];
+        for (boolean[] column : sprite)
+            for (int j = 0; j < column.length; j++)
+                column[j] = random.nextInt(3) > 0;
+        SpriteMask mask = SpriteMask.of(sprite);
+        int[] xs = new int[SPRITES];
+        int[] ys = new int[SPRITES];
+        for (int i = 0; i < SPRITES; i++) {
+            xs[i] = random.nextInt(WIDTH);
+            ys[i] = random.nextInt(HEIGHT);
+        }
+
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics graphics = image.getGraphics();
+        SpriteRasterizer rasterizer = new SpriteRasterizer();
+        rasterizer.setSurface(image);
+        int rgb = Color.GREEN.getRGB();
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int frame = 0; frame < FRAMES; frame++) {
+                graphics.setColor(Color.GREEN);
+                for (int s = 0; s < SPRITES; s++)
+                    for (int i = 0; i < sprite.length; i++)
+                        for (int j = 0; j < sprite[i].length; j++)
+                            if (sprite[i][j])
+                                graphics.drawRect(xs[s] + i * 2, ys[s] + j * 2, 1, 1);
+            }
+            long java2d = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int frame = 0; frame < FRAMES; frame++)
+                for (int s = 0; s < SPRITES; s++)
+                    rasterizer.drawSprite(mask, xs[s], ys[s], rgb);
+            long software = System.nanoTime() - start;
+
+            System.out.printf("Java2D %.3f ms/frame, software %.3f ms/frame%n",
+                    java2d / 1e6 / FRAMES, software / 1e6 / FRAMES);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpriteRasterizerTest {
+
+    private static boolean[][] randomSprite(final int width, final int height, final long seed) {
+        Random random = new Random(seed);
+        boolean[][] sprite = new boolean[width][height];
+        for (int i = 0; i < width; i++)
+            for (int j = 0; j < height; j++)
+                sprite[i][j] = random.nextBoolean();
+        return sprite;
+    }
+
+    private static void drawWithGraphics(final Graphics graphics, final boolean[][] sprite, final int x, final int y) {
+        for (int i = 0; i < sprite.length; i++)
+            for (int j = 0; j < sprite[i].length; j++)
+                if (sprite[i][j])
+                    graphics.drawRect(x + i * 2, y + j * 2, 1, 1);
+    }
+
+    @Test
+    void drawSprite_MatchesGraphicsDrawing() {
+        boolean[][] sprite = randomSprite(70, 9, 1);
+        BufferedImage expected = new BufferedImage(100, 40, BufferedImage.TYPE_INT_RGB);
+        Graphics graphics = expected.getGraphics();
+        graphics.setColor(Color.GREEN);
+        drawWithGraphics(graphics, sprite, -20, 25);
+
+        BufferedImage actual = new BufferedImage(100, 40, BufferedImage.TYPE_INT_RGB);
+        SpriteRasterizer rasterizer = new SpriteRasterizer();
+        rasterizer.setSurface(actual);
+        rasterizer.drawSprite(SpriteMask.of(sprite), -20, 25, Color.GREEN.getRGB());
+
+        for (int x = 0; x < 100; x++)
+            for (int y = 0; y < 40; y++)
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "pixel " + x + ", " + y);
+    }
+
+    @Test
+    void drawSprite_StaysInsideClip() {
+        boolean[][] sprite = new boolean[10][10];
+        for (boolean[] column : sprite)
+            java.util.Arrays.fill(column, true);
+        BufferedImage image = new BufferedImage(40, 40, BufferedImage.TYPE_INT_RGB);
+        SpriteRasterizer rasterizer = new SpriteRasterizer();
+        rasterizer.setSurface(image);
+        rasterizer.setOrigin(20, 0);
+        rasterizer.setClip(20, 0, 20, 40);
+        rasterizer.drawSprite(SpriteMask.of(sprite), -10, 0, Color.WHITE.getRGB());
+
+        assertEquals(Color.BLACK.getRGB(), image.getRGB(19, 5));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(20, 5));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(29, 19));
+        assertEquals(Color.BLACK.getRGB(), image.getRGB(30, 5));
+    }
+}
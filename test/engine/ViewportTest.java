@@ -0,0 +1,28 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewportTest {
+
+    @Test
+    void split_TwoViewportsSideBySide() {
+        List<Viewport> viewports = Viewport.split(896, 650, 2);
+
+        assertEquals(new Viewport(0, 0, 448, 650), viewports.get(0));
+        assertEquals(new Viewport(449, 0, 447, 650), viewports.get(1));
+    }
+
+    @Test
+    void split_FourViewportsInGrid() {
+        List<Viewport> viewports = Viewport.split(800, 600, 4);
+
+        assertEquals(new Viewport(0, 0, 400, 300), viewports.get(0));
+        assertEquals(new Viewport(401, 0, 399, 300), viewports.get(1));
+        assertEquals(new Viewport(0, 301, 400, 299), viewports.get(2));
+        assertEquals(new Viewport(401, 301, 399, 299), viewports.get(3));
+    }
+}
@@ -0,0 +1,28 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WakeSignalTest {
+
+    @Test
+    void await_ReturnsAtOnceWhenSignaledAfterCount() throws InterruptedException {
+        WakeSignal wakeSignal = WakeSignal.getInstance();
+        long count = wakeSignal.getCount();
+        wakeSignal.signal();
+
+        long start = System.currentTimeMillis();
+        wakeSignal.await(count, 5000);
+        assertTrue(System.currentTimeMillis() - start < 1000);
+    }
+
+    @Test
+    void await_TimesOutWithoutSignal() throws InterruptedException {
+        WakeSignal wakeSignal = WakeSignal.getInstance();
+
+        long start = System.currentTimeMillis();
+        wakeSignal.await(wakeSignal.getCount(), 50);
+        assertTrue(System.currentTimeMillis() - start >= 50);
+    }
+}
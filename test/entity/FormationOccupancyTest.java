@@ -0,0 +1,58 @@
+package entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormationOccupancyTest {
+
+    @Test
+    void countArea_IgnoresClearedSlotsAndEdges() {
+        FormationOccupancy occupancy = new FormationOccupancy(14, 10);
+        occupancy.clear(1, 1);
+        occupancy.clear(1, 1);
+
+        assertEquals(139, occupancy.getCount());
+        assertEquals(8, occupancy.countArea(0, 0, 3, 3));
+        assertEquals(3, occupancy.countArea(-1, -1, 3, 3));
+        assertEquals(13, occupancy.countRow(1));
+    }
+
+    @Test
+    void findDensestArea_PicksWindowWithMostShips() {
+        FormationOccupancy occupancy = new FormationOccupancy(4, 4);
+        for (int column = 0; column < 4; column++)
+            for (int row = 0; row < 2; row++)
+                occupancy.clear(column, row);
+        occupancy.clear(0, 3);
+
+        FormationOccupancy.Area area = occupancy.findDensestArea(3, 3);
+        assertEquals(new FormationOccupancy.Area(1, 1, 6), area);
+        assertEquals(3, occupancy.lowestOccupiedRow());
+    }
+
+    @Test
+    void findDensestArea_ReturnsNullWhenEmpty() {
+        FormationOccupancy occupancy = new FormationOccupancy(2, 1);
+        occupancy.clear(0, 0);
+        occupancy.clear(1, 0);
+
+        assertNull(occupancy.findDensestArea(3, 3));
+        assertEquals(-1, occupancy.lowestOccupiedRow());
+    }
+
+    @Test
+    void occupiedBounds_ShrinkAsEdgesEmpty() {
+        FormationOccupancy occupancy = new FormationOccupancy(3, 3);
+        for (int row = 0; row < 3; row++)
+            occupancy.clear(0, row);
+        occupancy.clear(1, 2);
+        occupancy.clear(2, 2);
+
+        assertEquals(1, occupancy.firstOccupiedColumn());
+        assertEquals(2, occupancy.lastOccupiedColumn());
+        assertEquals(0, occupancy.topOccupiedRow());
+        assertEquals(1, occupancy.lowestOccupiedRow());
+        assertEquals(-1, occupancy.lowestOccupiedRow(0));
+    }
+}
@@ -0,0 +1,142 @@
+package service;
+
+import engine.network.Body;
+import engine.network.Event;
+import engine.network.EventHandler;
+import message.Error;
+import message.HighScore;
+import message.Wallet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxTest {
+
+    /** Storage keeping the writes in memory. */
+    private static final class MemoryStorage implements Outbox.Storage {
+        private byte[] writes;
+
+        @Override
+        public byte[] load() {
+            return writes;
+        }
+
+        @Override
+        public void save(byte[] writes) {
+            this.writes = writes;
+        }
+    }
+
+    /** Request sent by a sender. */
+    private record Sent(Body body, UUID id, EventHandler callback) { }
+
+    /** Sender that keeps every request sent. */
+    private static final class RecordingSender implements Outbox.Sender {
+        private final List<Sent> sent = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(Body body, UUID id, EventHandler callback) {
+            sent.add(new Sent(body, id, callback));
+        }
+    }
+
+    private static HighScore best(Body older, Body newer) {
+        return ((HighScore) newer).score() > ((HighScore) older).score() ? (HighScore) newer : (HighScore) older;
+    }
+
+    @Test
+    void drain_SendsWritesMadeOfflineAfterRestart() {
+        MemoryStorage storage = new MemoryStorage();
+        RecordingSender sender = new RecordingSender();
+        Map<String, Outbox.Sender> senders = Map.of("shop", sender, "ranking", sender);
+        Outbox offline = new Outbox(storage, senders, () -> false);
+        offline.put("shop", new Wallet(10, 1, 1, 1, 1), (older, newer) -> newer, event -> { }, error -> fail());
+        offline.put("shop", new Wallet(25, 2, 1, 1, 1), (older, newer) -> newer, event -> { }, error -> fail());
+        offline.put("ranking", new HighScore(300), OutboxTest::best, event -> { }, error -> fail());
+        offline.put("ranking", new HighScore(200), OutboxTest::best, event -> { }, error -> fail());
+        assertTrue(sender.sent.isEmpty());
+
+        Outbox restarted = new Outbox(storage, senders, () -> true);
+        restarted.drain();
+        assertEquals(List.of(new Wallet(25, 2, 1, 1, 1), new HighScore(300)),
+                sender.sent.stream().map(Sent::body).toList());
+    }
+
+    @Test
+    void drain_KeepsIdUntilAcknowledged() {
+        MemoryStorage storage = new MemoryStorage();
+        RecordingSender sender = new RecordingSender();
+        Outbox outbox = new Outbox(storage, Map.of("ranking", sender), () -> true);
+        List<Event> acknowledged = new ArrayList<>();
+        outbox.put("ranking", new HighScore(100), OutboxTest::best, acknowledged::add, error -> fail());
+
+        // Not acknowledged yet, and sent again by a restart.
+        Outbox restarted = new Outbox(storage, Map.of("ranking", sender), () -> true);
+        restarted.drain();
+        assertEquals(2, sender.sent.size());
+        UUID id = sender.sent.get(0).id();
+        assertEquals(id, sender.sent.get(1).id());
+
+        Event response = new Event("ranking", null, id, 0);
+        sender.sent.get(0).callback().handle(response);
+        assertEquals(List.of(response), acknowledged);
+        assertNull(outbox.getPending("ranking"));
+        assertNull(new Outbox(storage, Map.of(), () -> true).getPending("ranking"));
+    }
+
+    @Test
+    void acknowledge_KeepsWriteChangedSinceSent() {
+        RecordingSender sender = new RecordingSender();
+        Outbox outbox = new Outbox(new MemoryStorage(), Map.of("shop", sender), () -> true);
+        outbox.put("shop", new Wallet(10, 1, 1, 1, 1), (older, newer) -> newer, event -> { }, error -> fail());
+        outbox.put("shop", new Wallet(20, 1, 1, 1, 1), (older, newer) -> newer, event -> { }, error -> fail());
+        assertEquals(2, sender.sent.size());
+
+        sender.sent.get(0).callback().handle(new Event("shop", null, sender.sent.get(0).id(), 0));
+        assertEquals(new Wallet(20, 1, 1, 1, 1), outbox.getPending("shop"));
+    }
+
+    @Test
+    void reject_DropsWriteOnlyForErrorAnsweringIt() {
+        RecordingSender sender = new RecordingSender();
+        Outbox outbox = new Outbox(new MemoryStorage(), Map.of("ranking", sender), () -> true);
+        List<Error> rejected = new ArrayList<>();
+        outbox.put("ranking", new HighScore(100), OutboxTest::best, event -> fail(), rejected::add);
+        Sent sent = sender.sent.get(0);
+
+        sent.callback().handle(new Event("ranking", new Error("busy"), UUID.randomUUID(), 0));
+        assertEquals(new HighScore(100), outbox.getPending("ranking"));
+        assertTrue(rejected.isEmpty());
+
+        Error error = new Error("invalid score");
+        sent.callback().handle(new Event("ranking", error, sent.id(), 0));
+        assertNull(outbox.getPending("ranking"));
+        assertEquals(List.of(error), rejected);
+    }
+
+    @Test
+    void drain_SendsWritesOnceConnectedWithoutNewWrite() throws InterruptedException {
+        RecordingSender sender = new RecordingSender();
+        AtomicBoolean connected = new AtomicBoolean(false);
+        Outbox outbox = new Outbox(new MemoryStorage(), Map.of("ranking", sender), connected::get, 10);
+        outbox.put("ranking", new HighScore(100), OutboxTest::best, event -> { }, error -> fail());
+        Thread.sleep(50);
+        assertTrue(sender.sent.isEmpty());
+
+        connected.set(true);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sender.sent.isEmpty() && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertEquals(List.of(new HighScore(100)), sender.sent.stream().map(Sent::body).toList());
+
+        sender.sent.get(0).callback().handle(new Event("ranking", null, sender.sent.get(0).id(), 0));
+        assertNull(outbox.getPending("ranking"));
+    }
+}
@@ -0,0 +1,105 @@
+package service;
+
+import engine.network.ErrorHandler;
+import engine.network.EventHandler;
+import message.Error;
+import message.Ranking;
+import message.RankingEntry;
+import message.RankingList;
+import message.RankingPage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingBoardTest {
+
+    /** Service counting the requests, without sending them. */
+    private static final class CountingService extends RankingService {
+        private int pages;
+        private int wholeRankings;
+
+        @Override
+        public void fetchPage(int offset, int limit, long version, EventHandler successHandler, ErrorHandler errorHandler) {
+            pages++;
+        }
+
+        @Override
+        public void fetchRankings(EventHandler successHandler, ErrorHandler errorHandler) {
+            wholeRankings++;
+        }
+    }
+
+    private static List<RankingEntry> entries(final int firstRank, final int lastRank) {
+        List<RankingEntry> entries = new ArrayList<>();
+        for (int rank = firstRank; rank <= lastRank; rank++)
+            entries.add(new RankingEntry(rank, "player" + rank, 1000 - rank));
+        return entries;
+    }
+
+    @Test
+    void apply_KeepsRowsOfFullPage() {
+        RankingBoard board = new RankingBoard(null);
+        board.apply(new RankingPage(1, 45, 1, 20, entries(1, 20), false, 0));
+
+        assertEquals(45, board.getTotal());
+        List<RankingEntry> rows = board.getRows(15, 10);
+        assertEquals(10, rows.size());
+        assertEquals("player16", rows.get(0).username());
+        assertNull(rows.get(5));
+    }
+
+    @Test
+    void apply_ChangesOnlyRowsOfDelta() {
+        RankingBoard board = new RankingBoard(null);
+        board.apply(new RankingPage(1, 20, 1, 20, entries(1, 20), false, 0));
+        board.apply(new RankingPage(2, 20, 1, 20, List.of(new RankingEntry(3, "newcomer", 998)), true, 3));
+
+        List<RankingEntry> rows = board.getRows(0, 4);
+        assertEquals(Arrays.asList("player1", "player2", "newcomer", "player4"),
+                rows.stream().map(RankingEntry::username).toList());
+        assertEquals(3, board.getPlayerRank());
+    }
+
+    @Test
+    void apply_SortsWholeRanking() {
+        RankingBoard board = new RankingBoard(null);
+        board.apply(new RankingList(List.of(new Ranking("b", 10), new Ranking("a", 30), new Ranking("c", 20))));
+
+        assertEquals(3, board.getTotal());
+        assertEquals(List.of("a", "c", "b"),
+                board.getRows(0, 10).stream().map(RankingEntry::username).toList());
+    }
+
+    @Test
+    void fail_KeepsAskingPagesAfterTemporaryError() {
+        CountingService service = new CountingService();
+        RankingBoard board = new RankingBoard(service);
+        board.load(0, 10);
+        board.fail(new Error("Request timed out"));
+        assertTrue(board.hasFailed());
+        assertEquals(0, service.wholeRankings);
+
+        assertEquals(2, service.pages);
+
+        board.refresh(0, 10);
+        assertEquals(4, service.pages);
+        assertFalse(board.hasFailed());
+    }
+
+    @Test
+    void applyPageResponse_FallsBackToWholeRankingForServersWithoutPages() {
+        CountingService service = new CountingService();
+        RankingBoard board = new RankingBoard(service);
+        board.load(0, 10);
+        board.applyPageResponse(new RankingList(List.of(new Ranking("a", 30))));
+        assertEquals(1, board.getTotal());
+
+        board.refresh(0, 10);
+        assertEquals(2, service.pages);
+        assertEquals(1, service.wholeRankings);
+    }
+}
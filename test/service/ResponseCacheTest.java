@@ -0,0 +1,112 @@
+package service;
+
+import engine.network.ErrorHandler;
+import engine.network.Event;
+import engine.network.EventHandler;
+import message.HighScore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    /** Request sent by a fetch. */
+    private record Sent(UUID id, EventHandler callback) {
+        void handle(Event event) {
+            callback.handle(event);
+        }
+
+        Event response(int score) {
+            return new Event("ranking", new HighScore(score), id, 0);
+        }
+    }
+
+    /** Fetch that keeps every request sent. */
+    private static final class RecordingFetch implements ResponseCache.Fetch {
+        private final List<Sent> sent = new ArrayList<>();
+
+        @Override
+        public void send(UUID id, EventHandler callback, ErrorHandler errorCallback) {
+            sent.add(new Sent(id, callback));
+        }
+    }
+
+    @Test
+    void get_SendsIdenticalRequestsOnce() {
+        ResponseCache cache = new ResponseCache();
+        RecordingFetch fetch = new RecordingFetch();
+        List<Event> received = new ArrayList<>();
+        cache.get("ranking", null, 60000, fetch, received::add, error -> fail());
+        cache.get("ranking", null, 60000, fetch, received::add, error -> fail());
+        assertEquals(1, fetch.sent.size());
+
+        Event event = fetch.sent.get(0).response(1);
+        fetch.sent.get(0).handle(event);
+        assertEquals(List.of(event, event), received);
+    }
+
+    @Test
+    void get_ServesFreshResponseWithoutSending() {
+        ResponseCache cache = new ResponseCache();
+        RecordingFetch fetch = new RecordingFetch();
+        cache.get("ranking", null, 60000, fetch, event -> { }, error -> fail());
+        Event event = fetch.sent.get(0).response(1);
+        fetch.sent.get(0).handle(event);
+
+        List<Event> received = new ArrayList<>();
+        cache.get("ranking", null, 60000, fetch, received::add, error -> fail());
+        assertEquals(1, fetch.sent.size());
+        assertEquals(List.of(event), received);
+    }
+
+    @Test
+    void get_ServesStaleResponseThenRefreshed() {
+        ResponseCache cache = new ResponseCache();
+        RecordingFetch fetch = new RecordingFetch();
+        cache.get("ranking", null, 0, fetch, event -> { }, error -> fail());
+        Event stale = fetch.sent.get(0).response(1);
+        fetch.sent.get(0).handle(stale);
+
+        List<Event> received = new ArrayList<>();
+        cache.get("ranking", null, 0, fetch, received::add, error -> fail());
+        assertEquals(List.of(stale), received);
+        assertEquals(2, fetch.sent.size());
+
+        Event refreshed = fetch.sent.get(1).response(2);
+        fetch.sent.get(1).handle(refreshed);
+        assertEquals(List.of(stale, refreshed), received);
+    }
+
+    @Test
+    void invalidate_DropsResponse() {
+        ResponseCache cache = new ResponseCache();
+        RecordingFetch fetch = new RecordingFetch();
+        cache.get("ranking", null, 60000, fetch, event -> { }, error -> fail());
+        fetch.sent.get(0).handle(fetch.sent.get(0).response(1));
+
+        cache.invalidate("ranking");
+        List<Event> received = new ArrayList<>();
+        cache.get("ranking", null, 60000, fetch, received::add, error -> fail());
+        assertEquals(2, fetch.sent.size());
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void get_DoesNotCacheResponseToAnotherRequest() {
+        ResponseCache cache = new ResponseCache();
+        RecordingFetch fetch = new RecordingFetch();
+        cache.get("ranking", null, 60000, fetch, event -> { }, error -> fail());
+        fetch.sent.get(0).handle(new Event("ranking", new HighScore(1), UUID.randomUUID(), 0));
+
+        List<Event> received = new ArrayList<>();
+        cache.get("ranking", null, 60000, fetch, received::add, error -> fail());
+        assertTrue(received.isEmpty());
+        Event event = fetch.sent.get(0).response(2);
+        fetch.sent.get(0).handle(event);
+        assertEquals(List.of(event), received);
+    }
+}